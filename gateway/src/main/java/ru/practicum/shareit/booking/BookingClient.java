@@ -1,6 +1,9 @@
 package ru.practicum.shareit.booking;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.exceptions.BadRequestException;
@@ -23,25 +27,23 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         HttpComponentsClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                              LocalDateTime afterStart, Long afterId) {
+        Map<String, Object> parameters = pageParameters(state, from, size, afterStart, afterId);
         if (!Arrays.stream(BookingState.values()).toList().contains(state)) {
             throw new BadRequestException("Booking state must be one of " + Arrays.toString(BookingState.values()));
         }
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return get("?state={state}&from={from}&size={size}" + cursorQuery(afterStart), userId, parameters);
     }
 
 
@@ -66,15 +68,33 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved=" + approved, ownerId);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
+    public ResponseEntity<Object> approveOrRejectBookings(long ownerId, List<BookingDecisionDto> decisions) {
+        return patch("/batch", ownerId, decisions);
+    }
+
+    public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state, Integer from, Integer size,
+                                                   LocalDateTime afterStart, Long afterId) {
+        Map<String, Object> parameters = pageParameters(state, from, size, afterStart, afterId);
         if (!Arrays.stream(BookingState.values()).toList().contains(state)) {
             throw new BadRequestException("Booking state must be one of " + Arrays.toString(BookingState.values()));
         }
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return get("/owner?state={state}&from={from}&size={size}" + cursorQuery(afterStart), userId, parameters);
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, Integer from, Integer size,
+                                                      LocalDateTime afterStart, Long afterId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (afterStart != null) {
+            parameters.put("afterStart", afterStart);
+            parameters.put("afterId", afterId);
+        }
+        return parameters;
+    }
+
+    private static String cursorQuery(LocalDateTime afterStart) {
+        return afterStart == null ? "" : "&afterStart={afterStart}&afterId={afterId}";
     }
 }
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -11,25 +14,35 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 
 @Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final BookingClient bookingClient;
 
     @GetMapping
     public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
                                               @RequestParam(name = "state", defaultValue = "all") String stateParam,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(name = "afterStart", required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                              @RequestParam(name = "afterId", required = false) Long afterId) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, afterStart={}, afterId={}",
+                stateParam, userId, from, size, afterStart, afterId);
+        return bookingClient.getBookings(userId, state, from, size, afterStart, afterId);
     }
 
     @PostMapping
@@ -46,6 +59,14 @@ public class BookingController {
         return bookingClient.getBooking(userId, bookingId);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> approveOrRejectBookings(@RequestHeader("X-Sharer-User-Id") @Min(1) Long ownerId,
+                                                          @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                          List<@Valid BookingDecisionDto> decisions) {
+        log.info("Deciding {} bookings, ownerId={}", decisions.size(), ownerId);
+        return bookingClient.approveOrRejectBookings(ownerId, decisions);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> approveOrRejectBooking(@PathVariable Long bookingId,
                                                          @RequestHeader("X-Sharer-User-Id") @Min(1) Long ownerId,
@@ -58,10 +79,14 @@ public class BookingController {
     public ResponseEntity<Object> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") long userId,
                                                    @RequestParam(name = "state", defaultValue = "all") String stateParam,
                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(name = "afterStart", required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                              @RequestParam(name = "afterId", required = false) Long afterId) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getOwnerBookings(userId, state, from, size);
+        log.info("Get owner bookings with state {}, userId={}, from={}, size={}, afterStart={}, afterId={}",
+                stateParam, userId, from, size, afterStart, afterId);
+        return bookingClient.getOwnerBookings(userId, state, from, size, afterStart, afterId);
     }
 }
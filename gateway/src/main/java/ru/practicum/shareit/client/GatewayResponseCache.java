@@ -0,0 +1,146 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+public class GatewayResponseCache {
+    private static final String CACHE_NAME = "gateway";
+
+    private final int limit;
+    private final Map<Key, CachedResponse> responses = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CachedResponse> eldest) {
+            if (size() <= limit) {
+                return false;
+            }
+            evictions.incrementAndGet();
+            return true;
+        }
+    };
+    private final Lock lock = new ReentrantLock();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Timer hitTimer;
+    private final Timer missTimer;
+
+    @Autowired
+    public GatewayResponseCache(@Value("${shareit-gateway.cache.size:10000}") int limit, MeterRegistry registry) {
+        this.limit = limit;
+        Gauge.builder("cache.size", this, GatewayResponseCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tag("cache", CACHE_NAME)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tag("cache", CACHE_NAME)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        this.hitTimer = Timer.builder("gateway.cached.requests")
+                .tag("result", "hit")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.missTimer = Timer.builder("gateway.cached.requests")
+                .tag("result", "miss")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public ResponseEntity<Object> getOrLoad(Key key, Duration ttl, Supplier<ResponseEntity<Object>> loader) {
+        long started = System.nanoTime();
+        ResponseEntity<Object> cached = get(key, started);
+        if (cached != null) {
+            hits.incrementAndGet();
+            hitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return cached;
+        }
+        misses.incrementAndGet();
+        long generation = generation(key.resource()).get();
+        ResponseEntity<Object> response = loader.get();
+        if (response.getStatusCode().is2xxSuccessful()) {
+            put(key, new CachedResponse(response, System.nanoTime() + ttl.toNanos(), generation));
+        }
+        missTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    public void invalidate(String resource) {
+        generation(resource).incrementAndGet();
+        lock.lock();
+        try {
+            responses.keySet().removeIf(key -> key.resource().equals(resource));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return responses.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ResponseEntity<Object> get(Key key, long now) {
+        lock.lock();
+        try {
+            CachedResponse cached = responses.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAt() - now <= 0) {
+                responses.remove(key);
+                return null;
+            }
+            return cached.response();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(Key key, CachedResponse response) {
+        lock.lock();
+        try {
+            if (generation(key.resource()).get() == response.generation()) {
+                responses.put(key, response);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private AtomicLong generation(String resource) {
+        return generations.computeIfAbsent(resource, ignored -> new AtomicLong());
+    }
+
+    public record Key(String resource, String path, Long userId) {
+    }
+
+    private record CachedResponse(ResponseEntity<Object> response, long expiresAt, long generation) {
+    }
+}
@@ -1,47 +1,69 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+
 @Service
 @Slf4j
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final Duration itemsTtl;
+    private final Duration searchTtl;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      HttpComponentsClientHttpRequestFactory requestFactory,
+                      GatewayResponseCache responseCache,
+                      @Value("${shareit-gateway.cache.ttl.items:5s}") Duration itemsTtl,
+                      @Value("${shareit-gateway.cache.ttl.item-search:30s}") Duration searchTtl) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache,
+                API_PREFIX
         );
+        this.itemsTtl = itemsTtl;
+        this.searchTtl = searchTtl;
         log.info("<<<<< ItemClient CONSTRUCTOR CALLED with serverUrl: {} >>>>>", serverUrl);
     }
 
     public ResponseEntity<Object> getItem(long itemId) {
-        return get("/" + itemId);
+        return cachedGet("/" + itemId, null, itemsTtl);
     }
 
     public ResponseEntity<Object> getItems(long userId) {
-        return get("", userId);
+        return cachedGet("", userId, itemsTtl);
     }
 
     public ResponseEntity<Object> createItem(ItemDto itemDto, long userId) {
         return post("", userId, itemDto);
     }
 
+    public void importItems(long userId, InputStream items, HttpServletResponse response) throws IOException {
+        postStream("/bulk", userId, MediaType.APPLICATION_NDJSON, items, response);
+    }
+
     public ResponseEntity<Object> updateItem(long itemId, long userId, ItemUpdateDto itemUpdateDto) {
         if (itemUpdateDto.getName() == null && itemUpdateDto.getDescription() == null && itemUpdateDto.getAvailable() == null) {
             throw new BadRequestException("No fields to update provided.");
@@ -51,7 +73,7 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getSearchItems(String query) {
-        return get("/search?text=" + query);
+        return cachedGet("/search?text=" + query, null, searchTtl);
     }
 
     public ResponseEntity<Object> createComment(long itemId, CommentCreateDto commentCreateDto, long userId) {
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +15,8 @@ import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.io.IOException;
+
 @Controller
 @RequestMapping("/items")
 @RequiredArgsConstructor
@@ -35,6 +40,13 @@ public class ItemController {
         return itemClient.createItem(itemDto, userId);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importItems(@RequestHeader("X-Sharer-User-Id") @Min(1) Long userId,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        itemClient.importItems(userId, request.getInputStream(), response);
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<Object> updateItem(@PathVariable final long id,
                                              @RequestHeader("X-Sharer-User-Id") @Min(1) Long userId,
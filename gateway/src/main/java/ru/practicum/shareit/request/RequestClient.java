@@ -8,32 +8,43 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
+import java.time.Duration;
+
 @Service
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
+    private final Duration requestsTtl;
+
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         HttpComponentsClientHttpRequestFactory requestFactory,
+                         GatewayResponseCache responseCache,
+                         @Value("${shareit-gateway.cache.ttl.requests:5s}") Duration requestsTtl) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache,
+                API_PREFIX
         );
+        this.requestsTtl = requestsTtl;
     }
 
     public ResponseEntity<Object> getRequests(long userId) {
-        return get("", userId);
+        return cachedGet("", userId, requestsTtl);
     }
 
     public ResponseEntity<Object> getRequestsFromOtherUsers(long userId) {
-        return get("/all", userId);
+        return cachedGet("/all", userId, requestsTtl);
     }
 
     public ResponseEntity<Object> getRequest(long id) {
-        return get("/" + id);
+        return cachedGet("/" + id, null, requestsTtl);
     }
 
     public ResponseEntity<Object> create(ItemRequestCreateDto dto, long userId) {
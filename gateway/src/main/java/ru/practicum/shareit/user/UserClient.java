@@ -9,23 +9,34 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
+import java.time.Duration;
+
 @Service
 @Slf4j
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
+    private final Duration usersTtl;
+
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      HttpComponentsClientHttpRequestFactory requestFactory,
+                      GatewayResponseCache responseCache,
+                      @Value("${shareit-gateway.cache.ttl.users:10s}") Duration usersTtl) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache,
+                API_PREFIX
         );
+        this.usersTtl = usersTtl;
         log.info("<<<<< UserClient CONSTRUCTOR CALLED with serverUrl: {} >>>>>", serverUrl);
     }
 
@@ -44,11 +55,11 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getUsers() {
-        return get("");
+        return cachedGet("", null, usersTtl);
     }
 
     public ResponseEntity<Object> getUserById(long id) {
-        return get("/" + id);
+        return cachedGet("/" + id, null, usersTtl);
     }
 
     public ResponseEntity<Object> deleteUser(long id) {
@@ -1,9 +1,14 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.util.BookingPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -21,6 +26,12 @@ public class BookingController {
         return service.createBooking(bookingDto, bookerId);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> approveOrRejectBookings(@RequestBody List<BookingDecisionDto> decisions,
+                                                                  @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        return service.approveOrRejectBookings(decisions, ownerId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approveOrRejectBooking(@PathVariable Long bookingId,
                                              @RequestHeader("X-Sharer-User-Id") Long ownerId,
@@ -36,13 +47,23 @@ public class BookingController {
 
     @GetMapping
     public List<BookingDto> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                            @RequestParam(name = "state", defaultValue = "ALL") String state) {
-        return service.getUserBookings(userId, state);
+                                            @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                            @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                            @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                            @RequestParam(name = "afterStart", required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                            @RequestParam(name = "afterId", required = false) Long afterId) {
+        return service.getUserBookings(userId, state, new BookingPage(from, size, afterStart, afterId));
     }
 
     @GetMapping("/owner")
     public List<BookingDto> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestParam(name = "state", defaultValue = "ALL") String state) {
-        return service.getOwnerBookings(userId, state);
+                                             @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                             @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                             @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                             @RequestParam(name = "afterStart", required = false)
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                             @RequestParam(name = "afterId", required = false) Long afterId) {
+        return service.getOwnerBookings(userId, state, new BookingPage(from, size, afterStart, afterId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.util.BookingInterval;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.user.UserDeletionEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+@Component
+public class BookingIntervalIndex {
+    static final int KNOWN_ITEMS_LIMIT = 10_000;
+    static final List<BookingStatus> OCCUPYING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository repository;
+    private final Map<Long, ItemIntervals> knownItems = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ItemIntervals> eldest) {
+            return size() > KNOWN_ITEMS_LIMIT;
+        }
+    };
+    private final Lock knownItemsLock = new ReentrantLock();
+
+    public BookingIntervalIndex(BookingRepository repository) {
+        this.repository = repository;
+    }
+
+    public boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals item = item(itemId);
+        item.lock.lock();
+        try {
+            if (item.intervals == null) {
+                item.intervals = load(itemId);
+            }
+            return item.intervals.overlaps(start, end);
+        } finally {
+            item.lock.unlock();
+        }
+    }
+
+    public void onBookingCreated(Booking booking) {
+        long itemId = booking.getItem().getId();
+        update(itemId, intervals -> intervals.add(booking.getId(), booking.getStart(), booking.getEnd()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        update(itemId, intervals -> intervals.remove(booking.getId(), booking.getStart()));
+                    }
+                }
+            });
+        }
+    }
+
+    public void onBookingRejected(Booking booking) {
+        onBookingsRejected(booking.getItem().getId(),
+                List.of(new BookingInterval(booking.getId(), booking.getStart(), booking.getEnd())));
+    }
+
+    public void onBookingsRejected(long itemId, List<BookingInterval> bookings) {
+        Runnable remove = () -> update(itemId, intervals -> bookings.forEach(booking ->
+                intervals.remove(booking.id(), booking.start())));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remove.run();
+            }
+        });
+    }
+
+    @EventListener
+    public void onUserDeletion(UserDeletionEvent event) {
+        List<Long> itemIds = repository.findItemIdsOfBookingsInvolving(event.userId());
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        evict(itemIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(itemIds);
+                }
+            });
+        }
+    }
+
+    private void evict(Collection<Long> itemIds) {
+        knownItemsLock.lock();
+        try {
+            knownItems.keySet().removeAll(itemIds);
+        } finally {
+            knownItemsLock.unlock();
+        }
+    }
+
+    private ItemIntervals item(long itemId) {
+        knownItemsLock.lock();
+        try {
+            return knownItems.computeIfAbsent(itemId, id -> new ItemIntervals());
+        } finally {
+            knownItemsLock.unlock();
+        }
+    }
+
+    private void update(long itemId, Consumer<BookingIntervals> change) {
+        ItemIntervals item;
+        knownItemsLock.lock();
+        try {
+            item = knownItems.get(itemId);
+        } finally {
+            knownItemsLock.unlock();
+        }
+        if (item == null) {
+            return;
+        }
+        item.lock.lock();
+        try {
+            if (item.intervals != null) {
+                change.accept(item.intervals);
+            }
+        } finally {
+            item.lock.unlock();
+        }
+    }
+
+    private BookingIntervals load(long itemId) {
+        BookingIntervals intervals = new BookingIntervals();
+        for (BookingInterval interval : repository.findIntervalsOfItem(itemId, OCCUPYING_STATUSES)) {
+            intervals.add(interval.id(), interval.start(), interval.end());
+        }
+        return intervals;
+    }
+
+    private static final class ItemIntervals {
+        private final Lock lock = new ReentrantLock();
+        private BookingIntervals intervals;
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+public class BookingIntervals {
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private long[] starts = new long[8];
+    private long[] ends = new long[8];
+    private long[] maxEnds = new long[8];
+    private long[] ids = new long[8];
+    private int size;
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        int count = lowerBound(toMicros(end));
+        return count > 0 && maxEnds[count - 1] > toMicros(start);
+    }
+
+    public void add(long id, LocalDateTime start, LocalDateTime end) {
+        long startMicros = toMicros(start);
+        int position = lowerBound(startMicros + 1);
+        for (int i = position - 1; i >= 0 && starts[i] == startMicros; i--) {
+            if (ids[i] == id) {
+                return;
+            }
+        }
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            maxEnds = Arrays.copyOf(maxEnds, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        System.arraycopy(starts, position, starts, position + 1, size - position);
+        System.arraycopy(ends, position, ends, position + 1, size - position);
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        starts[position] = startMicros;
+        ends[position] = toMicros(end);
+        ids[position] = id;
+        size++;
+        updateMaxEnds(position);
+    }
+
+    public void remove(long id, LocalDateTime start) {
+        long startMicros = toMicros(start);
+        for (int i = lowerBound(startMicros); i < size && starts[i] == startMicros; i++) {
+            if (ids[i] == id) {
+                System.arraycopy(starts, i + 1, starts, i, size - i - 1);
+                System.arraycopy(ends, i + 1, ends, i, size - i - 1);
+                System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+                size--;
+                updateMaxEnds(i);
+                return;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int lowerBound(long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void updateMaxEnds(int from) {
+        long max = from == 0 ? Long.MIN_VALUE : maxEnds[from - 1];
+        for (int i = from; i < size; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + time.getNano() / 1_000;
+    }
+}
@@ -4,18 +4,25 @@ import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.dto.UserDto;
 
 @UtilityClass
 public class BookingMapper {
     public static BookingDto mapToBookingDto(Booking booking) {
+        return mapToBookingDto(booking, ItemMapper.mapToItemShortDto(booking.getItem()),
+                UserMapper.mapToUserDto(booking.getBooker()));
+    }
+
+    public static BookingDto mapToBookingDto(Booking booking, ItemShortDto item, UserDto booker) {
         return new BookingDto(
                 booking.getId(),
                 booking.getStart(),
                 booking.getEnd(),
-                ItemMapper.mapToItemShortDto(booking.getItem()),
-                UserMapper.mapToUserDto(booking.getBooker()),
+                item,
+                booker,
                 booking.getStatus()
         );
     }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.util.BookingPage;
+import ru.practicum.shareit.booking.util.BookingState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingQueryRepository {
+    List<Booking> findBookerBookings(long bookerId, BookingState state, LocalDateTime now, BookingPage page);
+
+    List<Booking> findOwnerBookings(long ownerId, BookingState state, LocalDateTime now, BookingPage page);
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import ru.practicum.shareit.booking.util.BookingPage;
+import ru.practicum.shareit.booking.util.BookingState;
+import ru.practicum.shareit.booking.util.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BookingQueryRepositoryImpl implements BookingQueryRepository {
+    private static final String BY_BOOKER = "SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker " +
+            "WHERE b.booker.id = :userId";
+    private static final String BY_OWNER = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker " +
+            "WHERE i.owner.id = :userId";
+    private static final String CURRENT = " AND b.start <= :now AND b.end > :now";
+    private static final String PAST = " AND b.end <= :now";
+    private static final String FUTURE = " AND b.start > :now";
+    private static final String WITH_STATUS = " AND b.status = :status";
+    private static final String AFTER_CURSOR = " AND (b.start > :afterStart OR (b.start = :afterStart AND b.id > :afterId))";
+    private static final String ORDER = " ORDER BY b.start, b.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findBookerBookings(long bookerId, BookingState state, LocalDateTime now, BookingPage page) {
+        return findPage(BY_BOOKER, bookerId, state, now, page);
+    }
+
+    @Override
+    public List<Booking> findOwnerBookings(long ownerId, BookingState state, LocalDateTime now, BookingPage page) {
+        return findPage(BY_OWNER, ownerId, state, now, page);
+    }
+
+    private List<Booking> findPage(String select, long userId, BookingState state, LocalDateTime now,
+                                   BookingPage page) {
+        String jpql = select + stateCondition(state) + (page.isKeyset() ? AFTER_CURSOR : "") + ORDER;
+        TypedQuery<Booking> query = entityManager.createQuery(jpql, Booking.class)
+                .setParameter("userId", userId)
+                .setMaxResults(page.size());
+        switch (state) {
+            case CURRENT, PAST, FUTURE -> query.setParameter("now", now);
+            case WAITING -> query.setParameter("status", BookingStatus.WAITING);
+            case REJECTED -> query.setParameter("status", BookingStatus.REJECTED);
+            case ALL -> {
+            }
+        }
+        if (page.isKeyset()) {
+            query.setParameter("afterStart", page.afterStart())
+                    .setParameter("afterId", page.afterId());
+        } else {
+            query.setFirstResult(page.from());
+        }
+        return query.getResultList();
+    }
+
+    private static String stateCondition(BookingState state) {
+        return switch (state) {
+            case ALL -> "";
+            case CURRENT -> CURRENT;
+            case PAST -> PAST;
+            case FUTURE -> FUTURE;
+            case WAITING, REJECTED -> WITH_STATUS;
+        };
+    }
+}
@@ -1,15 +1,79 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.util.BookingInterval;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.booking.util.BookingTarget;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerId(Long id);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingQueryRepository {
+    Booking findByItemIdAndBookerId(Long itemId, Long bookerId);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId")
-    List<Booking> findByOwnerId(Long ownerId);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findWithItemAndBookerById(long id);
 
-    Booking findByItemIdAndBookerId(Long itemId, Long bookerId);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findWithItemAndBookerByIdIn(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status " +
+            "WHERE b.id = :bookingId AND b.status = :expected " +
+            "AND b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)")
+    int updateStatusOfOwnerBooking(@Param("bookingId") long bookingId, @Param("ownerId") long ownerId,
+                                   @Param("expected") BookingStatus expected, @Param("status") BookingStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status " +
+            "WHERE b.id IN :ids AND b.status = :expected " +
+            "AND b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)")
+    int updateStatusOfOwnerBookings(@Param("ids") Collection<Long> ids, @Param("ownerId") long ownerId,
+                                    @Param("expected") BookingStatus expected, @Param("status") BookingStatus status);
+
+    @Query("SELECT new ru.practicum.shareit.booking.util.BookingTarget(u.id, u.name, u.email, " +
+            "i.id, i.name, i.description, i.available) " +
+            "FROM User u LEFT JOIN Item i ON i.id = :itemId WHERE u.id = :bookerId")
+    Optional<BookingTarget> findBookingTarget(@Param("bookerId") long bookerId, @Param("itemId") long itemId);
+
+    @Query("SELECT new ru.practicum.shareit.booking.util.BookingInterval(b.id, b.start, b.end) FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status IN :statuses")
+    List<BookingInterval> findIntervalsOfItem(@Param("itemId") long itemId,
+                                              @Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status IN :statuses AND b.start < :end AND b.end > :start")
+    boolean existsOverlapping(@Param("itemId") long itemId, @Param("statuses") Collection<BookingStatus> statuses,
+                              @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.booker.id = :userId OR b.item.owner.id = :userId")
+    List<Long> findItemIdsOfBookingsInvolving(@Param("userId") long userId);
+
+    @Query("SELECT DISTINCT b FROM Booking b, Booking a " +
+            "WHERE a.id IN :ids AND b.item = a.item AND b.id NOT IN :ids AND b.status = :status " +
+            "AND b.start < a.end AND b.end > a.start")
+    List<Booking> findOverlappingBookings(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id IN :ids AND b.status = :expected")
+    int updateStatusOfBookings(@Param("ids") Collection<Long> ids, @Param("expected") BookingStatus expected,
+                               @Param("status") BookingStatus status);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.booker " +
+            "WHERE b.item.id IN :itemIds AND b.status = :status AND b.start = " +
+            "(SELECT MAX(l.start) FROM Booking l WHERE l.item.id = b.item.id AND l.status = :status)")
+    List<Booking> findLastBookingsOfItems(@Param("itemIds") Collection<Long> itemIds,
+                                          @Param("status") BookingStatus status);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.booker " +
+            "WHERE b.item.id IN :itemIds AND b.status = :status AND b.start = " +
+            "(SELECT MIN(n.start) FROM Booking n WHERE n.item.id = b.item.id AND n.status = :status)")
+    List<Booking> findNextBookingsOfItems(@Param("itemIds") Collection<Long> itemIds,
+                                          @Param("status") BookingStatus status);
+}
@@ -1,44 +1,74 @@
 package ru.practicum.shareit.booking;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.util.BookingInterval;
+import ru.practicum.shareit.booking.util.BookingPage;
+import ru.practicum.shareit.booking.util.BookingState;
 import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.booking.util.BookingTarget;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
-import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
 
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Transactional
 @Slf4j
 @Service
 public class BookingService {
+    static final int MAX_BATCH_SIZE = 100;
+
     private final BookingRepository repository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingIntervalIndex intervalIndex;
+    private final ItemLocks itemLocks;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BookingService(BookingRepository repository, UserRepository userRepository, ItemRepository itemRepository) {
+    public BookingService(BookingRepository repository, UserRepository userRepository, ItemRepository itemRepository,
+                          BookingIntervalIndex intervalIndex, ItemLocks itemLocks,
+                          ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
+        this.intervalIndex = intervalIndex;
+        this.itemLocks = itemLocks;
+        this.eventPublisher = eventPublisher;
     }
 
     public BookingDto createBooking(BookingCreateDto booking, Long bookerId) {
-
-        if (userRepository.findById(bookerId).isEmpty()) {
-            log.warn("User not found");
-            throw new NotFoundException("User not found");
+        BookingTarget target = repository.findBookingTarget(bookerId, booking.getItemId())
+                .orElseThrow(() -> {
+                    log.warn("User not found");
+                    return new NotFoundException("User not found");
+                });
+        if (target.itemId() == null) {
+            throw new NotFoundException("Item not found");
         }
-
-        if (!itemRepository.findById(booking.getItemId())
-                .orElseThrow(() -> new NotFoundException("Item not found")).getAvailable()) {
+        if (!Boolean.TRUE.equals(target.itemAvailable())) {
             throw new BadRequestException("Item is not available");
         }
 
@@ -46,33 +76,189 @@ public class BookingService {
         newBooking.setStatus(BookingStatus.WAITING);
         newBooking.setStart(booking.getStart());
         newBooking.setEnd(booking.getEnd());
+        newBooking.setItem(itemRepository.getReferenceById(target.itemId()));
+        newBooking.setBooker(userRepository.getReferenceById(target.bookerId()));
 
-        Item item = itemRepository.findById(booking.getItemId())
-                .orElseThrow(() -> new NotFoundException("Item not found"));
-        newBooking.setItem(item);
-        User booker = userRepository.findById(bookerId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
-        newBooking.setBooker(booker);
-
-        Booking savedBooking = repository.save(newBooking);
+        Booking savedBooking;
+        Lock itemLock = itemLocks.forItem(booking.getItemId());
+        itemLock.lock();
+        try {
+            if (booking.getStart() != null && booking.getEnd() != null
+                    && intervalIndex.overlaps(booking.getItemId(), booking.getStart(), booking.getEnd())
+                    && repository.existsOverlapping(booking.getItemId(), BookingIntervalIndex.OCCUPYING_STATUSES,
+                    booking.getStart(), booking.getEnd())) {
+                throw new ConflictException("Item is already booked for this time");
+            }
+            savedBooking = repository.saveAndFlush(newBooking);
+            intervalIndex.onBookingCreated(savedBooking);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Item is already booked for this time");
+        } finally {
+            itemLock.unlock();
+        }
+        itemRepository.incrementVersions(List.of(target.itemId()));
 
-        return BookingMapper.mapToBookingDto(savedBooking);
+        return BookingMapper.mapToBookingDto(savedBooking,
+                new ItemShortDto(target.itemId(), target.itemName(), target.itemDescription()),
+                new UserDto(target.bookerId(), target.bookerName(), target.bookerEmail()));
     }
 
     public BookingDto approveOrRejectBooking(long bookingId, long userId, boolean approved) {
-        Booking booking = repository.findById(bookingId)
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        int updated = repository.updateStatusOfOwnerBooking(bookingId, userId, BookingStatus.WAITING, status);
+
+        Booking booking = repository.findWithItemAndBookerById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking not found"));
-        if (booking.getItem().getOwner().getId() != userId) {
-            throw new BadRequestException("You are not owner of this booking");
+        if (updated == 0) {
+            if (booking.getItem().getOwner().getId() != userId) {
+                throw new BadRequestException("You are not owner of this booking");
+            }
+            if (booking.getStatus() != status) {
+                throw new ConflictException("Booking is already " + booking.getStatus());
+            }
+        } else {
+            itemRepository.incrementVersions(List.of(booking.getItem().getId()));
+            if (approved) {
+                rejectCompetitors(List.of(booking));
+            } else {
+                intervalIndex.onBookingRejected(booking);
+            }
         }
+        return BookingMapper.mapToBookingDto(booking);
+    }
 
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-            return BookingMapper.mapToBookingDto(booking);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
-            return BookingMapper.mapToBookingDto(booking);
+    public List<BookingDecisionResultDto> approveOrRejectBookings(List<BookingDecisionDto> decisions, long userId) {
+        if (decisions == null || decisions.isEmpty() || decisions.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch must contain from 1 to " + MAX_BATCH_SIZE + " decisions");
         }
+        Map<Long, Booking> bookings = repository.findWithItemAndBookerByIdIn(decisions.stream()
+                        .filter(decision -> decision != null && decision.getBookingId() != null)
+                        .map(BookingDecisionDto::getBookingId)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        BookingDecisionResultDto[] results = new BookingDecisionResultDto[decisions.size()];
+        Map<BookingStatus, List<Integer>> pending = new EnumMap<>(BookingStatus.class);
+        List<Booking> approving = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            BookingDecisionDto decision = decisions.get(i);
+            if (decision == null || decision.getBookingId() == null || decision.getApproved() == null) {
+                results[i] = new BookingDecisionResultDto(decision == null ? null : decision.getBookingId(),
+                        HttpStatus.BAD_REQUEST.value(), null, "bookingId and approved are required");
+                continue;
+            }
+            Booking booking = bookings.get(decision.getBookingId());
+            BookingStatus status = decision.getApproved() ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            if (!seen.add(decision.getBookingId())) {
+                results[i] = failure(decision, HttpStatus.BAD_REQUEST, "Booking is repeated in the batch");
+            } else if (booking == null) {
+                results[i] = failure(decision, HttpStatus.NOT_FOUND, "Booking not found");
+            } else if (booking.getItem().getOwner().getId() != userId) {
+                results[i] = failure(decision, HttpStatus.BAD_REQUEST, "You are not owner of this booking");
+            } else if (booking.getStatus() == status) {
+                results[i] = success(booking);
+            } else if (booking.getStatus() != BookingStatus.WAITING) {
+                results[i] = failure(decision, HttpStatus.CONFLICT, "Booking is already " + booking.getStatus());
+            } else if (status == BookingStatus.APPROVED && overlapsAny(booking, approving)) {
+                results[i] = failure(decision, HttpStatus.CONFLICT, "Booking overlaps another approved booking");
+            } else {
+                if (status == BookingStatus.APPROVED) {
+                    approving.add(booking);
+                }
+                pending.computeIfAbsent(status, key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        for (Map.Entry<BookingStatus, List<Integer>> entry : pending.entrySet()) {
+            BookingStatus status = entry.getKey();
+            List<Booking> changing = entry.getValue().stream()
+                    .map(i -> bookings.get(decisions.get(i).getBookingId()))
+                    .toList();
+            int updated = repository.updateStatusOfOwnerBookings(changing.stream().map(Booking::getId).toList(),
+                    userId, BookingStatus.WAITING, status);
+            Map<Long, BookingStatus> actual = updated == changing.size() ? Map.of()
+                    : repository.findAllById(changing.stream().map(Booking::getId).toList()).stream()
+                    .collect(Collectors.toMap(Booking::getId, Booking::getStatus));
+            List<Booking> changed = new ArrayList<>();
+            for (int i : entry.getValue()) {
+                Booking booking = bookings.get(decisions.get(i).getBookingId());
+                BookingStatus current = actual.getOrDefault(booking.getId(), status);
+                if (current == status) {
+                    booking.setStatus(status);
+                    changed.add(booking);
+                    results[i] = success(booking);
+                } else {
+                    results[i] = failure(decisions.get(i), HttpStatus.CONFLICT, "Booking is already " + current);
+                }
+            }
+            if (!changed.isEmpty()) {
+                itemRepository.incrementVersions(changed.stream()
+                        .map(booking -> booking.getItem().getId())
+                        .distinct()
+                        .toList());
+            }
+            if (status == BookingStatus.APPROVED) {
+                rejectCompetitors(changed);
+            } else {
+                releaseRejected(changed);
+            }
+        }
+        return List.of(results);
+    }
+
+    // createBooking refuses overlapping WAITING bookings, so competitors only exist in rows that predate
+    // that check or were inserted around the service.
+    private void rejectCompetitors(List<Booking> approved) {
+        if (approved.isEmpty()) {
+            return;
+        }
+        List<Booking> competitors = repository.findOverlappingBookings(
+                approved.stream().map(Booking::getId).toList(), BookingStatus.WAITING);
+        if (competitors.isEmpty()) {
+            return;
+        }
+        repository.updateStatusOfBookings(competitors.stream().map(Booking::getId).toList(),
+                BookingStatus.WAITING, BookingStatus.REJECTED);
+        releaseRejected(competitors);
+        Map<Booking, List<Long>> rejectedBy = new LinkedHashMap<>();
+        for (Booking competitor : competitors) {
+            approved.stream()
+                    .filter(booking -> overlaps(booking, competitor))
+                    .findFirst()
+                    .ifPresent(booking -> rejectedBy.computeIfAbsent(booking, key -> new ArrayList<>())
+                            .add(competitor.getId()));
+        }
+        rejectedBy.forEach((booking, ids) -> eventPublisher.publishEvent(
+                new BookingsRejectedEvent(booking.getItem().getId(), booking.getId(), ids)));
+    }
+
+    private void releaseRejected(List<Booking> rejected) {
+        rejected.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
+                        Collectors.mapping(booking -> new BookingInterval(booking.getId(), booking.getStart(),
+                                booking.getEnd()), Collectors.toList())))
+                .forEach(intervalIndex::onBookingsRejected);
+    }
+
+    private static boolean overlapsAny(Booking booking, List<Booking> others) {
+        return others.stream().anyMatch(other -> overlaps(other, booking));
+    }
+
+    private static boolean overlaps(Booking booking, Booking other) {
+        return other.getItem().getId() == booking.getItem().getId()
+                && other.getStart().isBefore(booking.getEnd()) && booking.getStart().isBefore(other.getEnd());
+    }
+
+    private static BookingDecisionResultDto success(Booking booking) {
+        return new BookingDecisionResultDto(booking.getId(), HttpStatus.OK.value(),
+                BookingMapper.mapToBookingDto(booking), null);
+    }
+
+    private static BookingDecisionResultDto failure(BookingDecisionDto decision, HttpStatus status, String error) {
+        return new BookingDecisionResultDto(decision.getBookingId(), status.value(), null, error);
     }
 
     @Transactional(readOnly = true)
@@ -88,48 +274,40 @@ public class BookingService {
     }
 
     @Transactional(readOnly = true)
-    public List<BookingDto> getUserBookings(Long userId, String state) {
+    public List<BookingDto> getUserBookings(Long userId, String state, BookingPage page) {
         if (userRepository.findById(userId).isEmpty()) {
             throw new NotFoundException("User not found");
         }
-        List<Booking> bookings = repository.findByBookerId(userId);
+        checkPage(page);
 
-        return getBookingDtos(state, bookings);
+        return repository.findBookerBookings(userId, getState(state), LocalDateTime.now(), page).stream()
+                .map(BookingMapper::mapToBookingDto)
+                .toList();
     }
 
     @Transactional(readOnly = true)
-    public List<BookingDto> getOwnerBookings(Long userId, String state) {
+    public List<BookingDto> getOwnerBookings(Long userId, String state, BookingPage page) {
         if (userRepository.findById(userId).isEmpty()) {
             throw new NotFoundException("User not found");
         }
+        checkPage(page);
 
-        List<Booking> bookings = repository.findByOwnerId(userId);
+        return repository.findOwnerBookings(userId, getState(state), LocalDateTime.now(), page).stream()
+                .map(BookingMapper::mapToBookingDto)
+                .toList();
+    }
 
-        return getBookingDtos(state, bookings);
+    private void checkPage(BookingPage page) {
+        if (page.from() < 0 || page.size() <= 0) {
+            throw new BadRequestException("From must not be negative and size must be positive");
+        }
+        if ((page.afterStart() == null) != (page.afterId() == null)) {
+            throw new BadRequestException("afterStart and afterId must be set together");
+        }
     }
 
-    private List<BookingDto> getBookingDtos(String state, List<Booking> bookings) {
-        return switch (state) {
-            case "CURRENT" -> bookings.stream()
-                    .filter(booking -> booking.getStatus().equals(BookingStatus.APPROVED))
-                    .sorted(Comparator.comparing(Booking::getStart))
-                    .map(BookingMapper::mapToBookingDto).toList();
-            case "PAST" -> bookings.stream()
-                    .filter(booking -> booking.getStatus().equals(BookingStatus.CANCELED))
-                    .sorted(Comparator.comparing(Booking::getStart))
-                    .map(BookingMapper::mapToBookingDto).toList();
-            case "FUTURE" -> bookings.stream()
-                    .filter(booking -> booking.getStatus().equals(BookingStatus.WAITING))
-                    .sorted(Comparator.comparing(Booking::getStart))
-                    .map(BookingMapper::mapToBookingDto).toList();
-            case "REJECTED" -> bookings.stream()
-                    .filter(booking -> booking.getStatus().equals(BookingStatus.REJECTED))
-                    .sorted(Comparator.comparing(Booking::getStart))
-                    .map(BookingMapper::mapToBookingDto).toList();
-            case "ALL" -> bookings.stream()
-                    .sorted(Comparator.comparing(Booking::getStart))
-                    .map(BookingMapper::mapToBookingDto).toList();
-            default -> throw new IllegalStateException("Unexpected value: " + state);
-        };
+    private BookingState getState(String state) {
+        return BookingState.from(state)
+                .orElseThrow(() -> new IllegalStateException("Unexpected value: " + state));
     }
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking;
+
+import java.util.List;
+
+public record BookingsRejectedEvent(long itemId, long approvedBookingId, List<Long> rejectedBookingIds) {
+}
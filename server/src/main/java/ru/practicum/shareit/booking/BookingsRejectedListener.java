@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+public class BookingsRejectedListener {
+    private final Counter rejected;
+
+    public BookingsRejectedListener(MeterRegistry registry) {
+        this.rejected = Counter.builder("bookings.rejected.competitors")
+                .description("WAITING bookings rejected because an overlapping booking was approved")
+                .register(registry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingsRejected(BookingsRejectedEvent event) {
+        log.info("Approval of booking {} rejected overlapping bookings {} of item {}",
+                event.approvedBookingId(), event.rejectedBookingIds(), event.itemId());
+        rejected.increment(event.rejectedBookingIds().size());
+    }
+}
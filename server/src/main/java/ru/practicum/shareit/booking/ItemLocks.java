@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class ItemLocks {
+    static final int STRIPES = 1024;
+
+    private final Lock[] locks = new Lock[STRIPES];
+
+    public ItemLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock forItem(long itemId) {
+        long hash = itemId * 0x9E3779B97F4A7C15L;
+        return locks[(int) (hash >>> 54) & (STRIPES - 1)];
+    }
+}
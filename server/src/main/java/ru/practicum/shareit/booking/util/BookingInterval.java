@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.util;
+
+import java.time.LocalDateTime;
+
+public record BookingInterval(long id, LocalDateTime start, LocalDateTime end) {
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.util;
+
+import java.time.LocalDateTime;
+
+public record BookingPage(int from, int size, LocalDateTime afterStart, Long afterId) {
+    public boolean isKeyset() {
+        return afterStart != null;
+    }
+}
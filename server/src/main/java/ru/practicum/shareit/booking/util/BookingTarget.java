@@ -0,0 +1,5 @@
+package ru.practicum.shareit.booking.util;
+
+public record BookingTarget(long bookerId, String bookerName, String bookerEmail,
+                            Long itemId, String itemName, String itemDescription, Boolean itemAvailable) {
+}
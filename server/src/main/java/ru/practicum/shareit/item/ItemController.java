@@ -1,31 +1,37 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
-import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.comment.CommentRepository;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
-import ru.practicum.shareit.request.ItemRequestRepository;
-import ru.practicum.shareit.user.UserRepository;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService service;
+    private final ItemImportService importService;
 
-    public ItemController(final ItemRepository repository, final UserRepository userRepository,
-                          final ItemRequestRepository requestRepository, final BookingRepository bookingRepository, final CommentRepository commentRepository) {
-        service = new ItemService(repository, userRepository, requestRepository, bookingRepository, commentRepository);
+    public ItemController(final ItemService service, final ItemImportService importService) {
+        this.service = service;
+        this.importService = importService;
     }
 
     @GetMapping("/{id}")
-    public ItemDto getItem(@PathVariable("id") long id) {
-        return service.getItem(id);
+    public ItemDto getItem(@PathVariable("id") long id, WebRequest request) {
+        long version = service.getItemVersion(id);
+        if (request.checkNotModified(String.valueOf(version))) {
+            return null;
+        }
+        return service.getItem(id, version);
     }
 
     @GetMapping
@@ -39,6 +45,15 @@ public class ItemController {
         return service.createItem(itemDto, userId);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        importService.checkOwner(userId);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        importService.importItems(userId, request.getInputStream(), response.getOutputStream());
+    }
+
     @PatchMapping("/{id}")
     public ItemDto updateItem(@PathVariable final long id,
                               @RequestHeader("X-Sharer-User-Id") Long userId,
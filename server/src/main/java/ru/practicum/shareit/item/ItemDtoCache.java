@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class ItemDtoCache implements MeterBinder {
+    private static final String CACHE_NAME = "itemDto";
+
+    private final int limit;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Map<Long, CachedItem> items = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedItem> eldest) {
+            if (size() <= limit) {
+                return false;
+            }
+            evictions.incrementAndGet();
+            return true;
+        }
+    };
+    private final Lock lock = new ReentrantLock();
+
+    @Autowired
+    public ItemDtoCache(@Value("${shareit.item-cache.size:10000}") int limit) {
+        this.limit = limit;
+    }
+
+    public ItemDto get(long itemId, long version) {
+        CachedItem cached;
+        lock.lock();
+        try {
+            cached = items.get(itemId);
+        } finally {
+            lock.unlock();
+        }
+        if (cached == null || cached.version() != version) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached.itemDto();
+    }
+
+    public void put(long itemId, long version, ItemDto itemDto) {
+        lock.lock();
+        try {
+            items.merge(itemId, new CachedItem(version, itemDto),
+                    (current, candidate) -> current.version() > candidate.version() ? current : candidate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return items.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cache.size", this, ItemDtoCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tag("cache", CACHE_NAME)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tag("cache", CACHE_NAME)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+    }
+
+    private record CachedItem(long version, ItemDto itemDto) {
+    }
+}
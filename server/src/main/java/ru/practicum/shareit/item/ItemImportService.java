@@ -0,0 +1,197 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.search.ItemSearchBackend;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceService;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ItemImportService {
+    static final int CHUNK_SIZE = 500;
+
+    private final ItemRepository repository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository requestRepository;
+    private final UserExistenceService userExistenceService;
+    private final ItemSearchBackend searchBackend;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader itemReader;
+    private final ObjectWriter resultWriter;
+
+    @Autowired
+    public ItemImportService(ItemRepository repository, UserRepository userRepository,
+                             ItemRequestRepository requestRepository, UserExistenceService userExistenceService,
+                             ItemSearchBackend searchBackend, PlatformTransactionManager transactionManager,
+                             Validator validator, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.requestRepository = requestRepository;
+        this.userExistenceService = userExistenceService;
+        this.searchBackend = searchBackend;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.itemReader = objectMapper.readerFor(ItemDto.class);
+        this.resultWriter = objectMapper.writerFor(ItemImportResultDto.class);
+    }
+
+    public void checkOwner(long userId) {
+        if (!userExistenceService.exists(userId)) {
+            throw new NotFoundException("User not found with id: " + userId);
+        }
+    }
+
+    public void importItems(long userId, InputStream input, OutputStream output) throws IOException {
+        checkOwner(userId);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        List<ImportLine> chunk = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(lineNumber, line));
+            if (chunk.size() == CHUNK_SIZE) {
+                write(importOrReport(userId, chunk), writer);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(importOrReport(userId, chunk), writer);
+        }
+    }
+
+    private List<ItemImportResultDto> importOrReport(long userId, List<ImportLine> chunk) {
+        try {
+            return importChunk(userId, chunk);
+        } catch (RuntimeException e) {
+            long first = chunk.getFirst().number();
+            long last = chunk.getLast().number();
+            log.warn("Import of lines {}-{} for user {} was rolled back", first, last, userId, e);
+            HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+            String reason = e.getMessage();
+            if (e instanceof DataIntegrityViolationException && ownerWasDeleted(userId)) {
+                status = HttpStatus.NOT_FOUND;
+                reason = "User not found with id: " + userId;
+            }
+            String error = "Lines " + first + "-" + last + " were not imported: " + reason;
+            int failedStatus = status.value();
+            return chunk.stream()
+                    .map(line -> line.item() == null
+                            ? new ItemImportResultDto(line.number(), HttpStatus.BAD_REQUEST.value(), null, line.error())
+                            : new ItemImportResultDto(line.number(), failedStatus, null, error))
+                    .toList();
+        }
+    }
+
+    private ImportLine parse(long lineNumber, String line) {
+        ItemDto itemDto;
+        try {
+            itemDto = itemReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return ImportLine.failed(lineNumber, "Malformed JSON");
+        }
+        if (itemDto == null) {
+            return ImportLine.failed(lineNumber, "Item expected");
+        }
+        String violations = validator.validate(itemDto).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        if (!violations.isEmpty()) {
+            return ImportLine.failed(lineNumber, violations);
+        }
+        return new ImportLine(lineNumber, itemDto, null);
+    }
+
+    private boolean ownerWasDeleted(long userId) {
+        userExistenceService.forget(userId);
+        return !userExistenceService.exists(userId);
+    }
+
+    private List<ItemImportResultDto> importChunk(long userId, List<ImportLine> chunk) {
+        return transactionTemplate.execute(status -> {
+            User owner = userRepository.getReferenceById(userId);
+            List<Long> requestIds = chunk.stream()
+                    .map(ImportLine::item)
+                    .filter(Objects::nonNull)
+                    .map(ItemDto::getRequestId)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+            Map<Long, ItemRequest> requests = requestRepository.findAllById(requestIds).stream()
+                    .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+            List<Item> items = chunk.stream()
+                    .map(ImportLine::item)
+                    .filter(Objects::nonNull)
+                    .map(itemDto -> ItemMapper.mapToItem(itemDto, owner, requests.get(itemDto.getRequestId())))
+                    .toList();
+            repository.saveAll(items);
+            items.forEach(searchBackend::onItemSaved);
+            if (!requests.isEmpty()) {
+                requestRepository.incrementVersions(requests.keySet());
+            }
+
+            Iterator<Item> saved = items.iterator();
+            return chunk.stream()
+                    .map(line -> line.item() == null
+                            ? new ItemImportResultDto(line.number(), HttpStatus.BAD_REQUEST.value(), null, line.error())
+                            : new ItemImportResultDto(line.number(), HttpStatus.CREATED.value(),
+                            ItemMapper.mapToItemDto(saved.next()), null))
+                    .toList();
+        });
+    }
+
+    private void write(List<ItemImportResultDto> results, Writer writer) throws IOException {
+        for (ItemImportResultDto result : results) {
+            writer.write(resultWriter.writeValueAsString(result));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private record ImportLine(long number, ItemDto item, String error) {
+        static ImportLine failed(long number, String error) {
+            return new ImportLine(number, null, error);
+        }
+    }
+}
@@ -3,19 +3,19 @@ package ru.practicum.shareit.item;
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
-import ru.practicum.shareit.booking.util.BookingStatus;
 import ru.practicum.shareit.comment.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
-import java.util.Comparator;
-import java.util.List;
-
 @UtilityClass
 public class ItemMapper {
     public static ItemDto mapToItemDto(Item item) {
+        return mapToItemDto(item, null, null);
+    }
+
+    public static ItemDto mapToItemDto(Item item, Booking lastBooking, Booking nextBooking) {
         Long ownerId = (item.getOwner() != null) ? item.getOwner().getId() : null;
         Long requestId = (item.getRequest() != null) ? item.getRequest().getId() : null;
 
@@ -30,21 +30,11 @@ public class ItemMapper {
                 .stream()
                 .map(CommentMapper::mapToCommentDto)
                 .toList());
-
-        List<Booking> lastBookings = item.getBookings().stream()
-                .filter(booking -> booking.getStatus() == BookingStatus.REJECTED)
-                .sorted(Comparator.comparing(Booking::getStart))
-                .toList();
-        if (!lastBookings.isEmpty()) {
-            dto.setLastBooking(BookingMapper.mapToBookingDto(lastBookings.getLast()));
+        if (lastBooking != null) {
+            dto.setLastBooking(BookingMapper.mapToBookingDto(lastBooking));
         }
-
-        List<Booking> nextBookings = item.getBookings().stream()
-                .filter(booking -> booking.getStatus() == BookingStatus.WAITING)
-                .sorted(Comparator.comparing(Booking::getStart))
-                .toList();
-        if (!nextBookings.isEmpty()) {
-            dto.setNextBooking(BookingMapper.mapToBookingDto(nextBookings.getFirst()));
+        if (nextBooking != null) {
+            dto.setNextBooking(BookingMapper.mapToBookingDto(nextBooking));
         }
 
         return dto;
@@ -1,20 +1,68 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.search.ItemSearchDocument;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String VERSION_SPACE = "items.version";
+
+    @EntityGraph(Item.DETAIL_GRAPH)
+    Optional<Item> findWithDetailsById(long id);
+
+    @EntityGraph(Item.DETAIL_GRAPH)
+    List<Item> findWithDetailsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(Item.DETAIL_GRAPH)
     List<Item> findByOwnerId(long userId);
 
+    @EntityGraph(Item.DETAIL_GRAPH)
     @Query("SELECT i FROM Item i WHERE " +
             "LOWER(i.name) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
             "LOWER(i.description) LIKE LOWER(CONCAT('%', :searchText, '%'))")
     List<Item> searchByNameOrDescriptionIgnoreCase(@Param("searchText") String searchText);
 
+    @Query(value = "SELECT i.id FROM items i " +
+            "WHERE i.available " +
+            "AND (i.name ILIKE CONCAT('%', :searchText, '%') OR i.description ILIKE CONCAT('%', :searchText, '%')) " +
+            "ORDER BY GREATEST(word_similarity(:searchText, i.name), " +
+            "word_similarity(:searchText, COALESCE(i.description, ''))) DESC, i.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Long> searchAvailableIdsByTrigram(@Param("searchText") String searchText, @Param("limit") int limit);
+
+    @Query(value = "SELECT version FROM items WHERE id = :itemId", nativeQuery = true)
+    Optional<Long> findVersionById(@Param("itemId") long itemId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = VERSION_SPACE))
+    @Query(value = "UPDATE items SET version = version + 1 WHERE id IN (:itemIds)", nativeQuery = true)
+    int incrementVersions(@Param("itemIds") Collection<Long> itemIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = VERSION_SPACE))
+    @Query(value = "UPDATE items SET version = version + 1 " +
+            "WHERE id IN (SELECT c.item_id FROM comments c WHERE c.author_id = :userId) " +
+            "OR id IN (SELECT b.item_id FROM bookings b WHERE b.booker_id = :userId)", nativeQuery = true)
+    int incrementVersionsOfItemsShowingUser(@Param("userId") long userId);
+
     List<Item> findByRequestId(Long requestId);
+
+    List<Item> findByRequestIdIn(Collection<Long> requestIds);
+
+    @Query("SELECT new ru.practicum.shareit.item.search.ItemSearchDocument(i.id, i.name, i.description, i.available) " +
+            "FROM Item i")
+    Stream<ItemSearchDocument> streamSearchDocuments();
 }
\ No newline at end of file
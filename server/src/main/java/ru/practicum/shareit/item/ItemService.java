@@ -1,10 +1,12 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.util.BookingStatus;
 import ru.practicum.shareit.comment.Comment;
 import ru.practicum.shareit.comment.CommentMapper;
 import ru.practicum.shareit.comment.CommentRepository;
@@ -14,51 +16,82 @@ import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.search.ItemSearchBackend;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceService;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserDeletionEvent;
+import ru.practicum.shareit.user.UserUpdatedEvent;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 @Transactional
 @Service
 public class ItemService {
+    private static final BookingStatus LAST_BOOKING_STATUS = BookingStatus.REJECTED;
+    private static final BookingStatus NEXT_BOOKING_STATUS = BookingStatus.WAITING;
+
     private final ItemRepository repository;
     private final UserRepository userRepository;
     private final ItemRequestRepository requestRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final UserExistenceService userExistenceService;
+    private final ItemSearchBackend searchBackend;
+    private final ItemDtoCache itemDtoCache;
 
     @Autowired
     public ItemService(ItemRepository repository, UserRepository userRepository,
-                       ItemRequestRepository requestRepository, BookingRepository bookingRepository, CommentRepository commentRepository) {
+                       ItemRequestRepository requestRepository, BookingRepository bookingRepository, CommentRepository commentRepository,
+                       UserExistenceService userExistenceService, ItemSearchBackend searchBackend,
+                       ItemDtoCache itemDtoCache) {
         this.repository = repository;
         this.userRepository = userRepository;
         this.requestRepository = requestRepository;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
+        this.userExistenceService = userExistenceService;
+        this.searchBackend = searchBackend;
+        this.itemDtoCache = itemDtoCache;
+    }
+
+    @Transactional(readOnly = true)
+    public long getItemVersion(long id) {
+        return repository.findVersionById(id)
+                .orElseThrow(() -> new NotFoundException("Item not found"));
     }
 
     @Transactional(readOnly = true)
     public ItemDto getItem(long id) {
-        return ItemMapper.mapToItemDto(
-                repository.findById(id)
+        return getItem(id, getItemVersion(id));
+    }
+
+    @Transactional(readOnly = true)
+    public ItemDto getItem(long id, long version) {
+        ItemDto cached = itemDtoCache.get(id, version);
+        if (cached != null) {
+            return cached;
+        }
+        ItemDto itemDto = mapToItemDto(
+                repository.findWithDetailsById(id)
                         .orElseThrow(() -> new NotFoundException("Item not found")));
+        itemDtoCache.put(id, version, itemDto);
+        return itemDto;
     }
 
     @Transactional(readOnly = true)
     public List<ItemDto> getItems(long userId) {
-        if (!isExistsUser(userId)) {
+        if (!userExistenceService.exists(userId)) {
             throw new NotFoundException("User not found");
         }
-        return repository.findByOwnerId(userId)
-                .stream()
-                .map(ItemMapper::mapToItemDto)
-                .collect(Collectors.toList());
+        return mapToItemDtos(repository.findByOwnerId(userId));
     }
 
     public ItemDto createItem(ItemDto itemDto, long userId) {
@@ -74,18 +107,21 @@ public class ItemService {
         Item newItem = ItemMapper.mapToItem(itemDto, owner, request);
 
         Item savedItem = repository.save(newItem);
+        searchBackend.onItemSaved(savedItem);
+        if (request != null) {
+            requestRepository.incrementVersions(List.of(request.getId()));
+        }
 
         return ItemMapper.mapToItemDto(savedItem);
     }
 
     public ItemDto updateItem(long itemId, long userId, ItemUpdateDto itemUpdateDto) {
-        if (getItem(itemId).getOwnerId() != userId) {
+        Item existingItem = repository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item not found"));
+        if (existingItem.getOwner().getId() != userId) {
             throw new NotFoundException("Wrong owner id");
         }
 
-        Item existingItem = repository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Item not found."));
-
         boolean needsUpdate = false;
 
         if (itemUpdateDto.getName() != null && !itemUpdateDto.getName().isBlank()) {
@@ -113,9 +149,14 @@ public class ItemService {
 
         if (needsUpdate) {
             Item updatedItem = repository.save(existingItem);
-            return ItemMapper.mapToItemDto(updatedItem);
+            searchBackend.onItemSaved(updatedItem);
+            repository.incrementVersions(List.of(itemId));
+            if (updatedItem.getRequest() != null) {
+                requestRepository.incrementVersions(List.of(updatedItem.getRequest().getId()));
+            }
+            return mapToItemDto(updatedItem);
         } else {
-            return ItemMapper.mapToItemDto(existingItem);
+            return mapToItemDto(existingItem);
         }
     }
 
@@ -124,11 +165,7 @@ public class ItemService {
         if (query.isBlank()) {
             return new ArrayList<>();
         }
-        return repository.searchByNameOrDescriptionIgnoreCase(query)
-                .stream()
-                .filter(Item::getAvailable)
-                .map(ItemMapper::mapToItemDto)
-                .collect(Collectors.toList());
+        return mapToItemDtos(searchBackend.search(query));
     }
 
     public CommentDto createComment(Long itemId, CommentCreateDto commentCreateDto, Long userId) {
@@ -150,13 +187,44 @@ public class ItemService {
         comment.setItem(repository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found with id: " + itemId)));
         Comment createComment = commentRepository.save(comment);
+        repository.incrementVersions(List.of(itemId));
         return CommentMapper.mapToCommentDto(createComment);
+    }
+
+    @EventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        repository.incrementVersionsOfItemsShowingUser(event.userId());
+    }
 
+    @EventListener
+    public void onUserDeletion(UserDeletionEvent event) {
+        repository.incrementVersionsOfItemsShowingUser(event.userId());
+    }
+
+    private ItemDto mapToItemDto(Item item) {
+        return mapToItemDtos(List.of(item)).getFirst();
+    }
 
+    private List<ItemDto> mapToItemDtos(List<Item> items) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .toList();
+        Map<Long, Booking> lastBookings = byItemId(
+                bookingRepository.findLastBookingsOfItems(itemIds, LAST_BOOKING_STATUS),
+                (first, second) -> first.getId() >= second.getId() ? first : second);
+        Map<Long, Booking> nextBookings = byItemId(
+                bookingRepository.findNextBookingsOfItems(itemIds, NEXT_BOOKING_STATUS),
+                (first, second) -> first.getId() <= second.getId() ? first : second);
+        return items.stream()
+                .map(item -> ItemMapper.mapToItemDto(item, lastBookings.get(item.getId()), nextBookings.get(item.getId())))
+                .collect(Collectors.toList());
     }
 
-    private boolean isExistsUser(long id) {
-        return userRepository.findAll().stream()
-                .anyMatch(userCheck -> userCheck.getId() == id);
+    private static Map<Long, Booking> byItemId(List<Booking> bookings, BinaryOperator<Booking> tieBreaker) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking, tieBreaker));
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.backend", havingValue = "database", matchIfMissing = true)
+public class DatabaseItemSearchBackend implements ItemSearchBackend {
+    private final ItemRepository repository;
+
+    public DatabaseItemSearchBackend(ItemRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<Item> search(String text) {
+        return repository.searchByNameOrDescriptionIgnoreCase(text)
+                .stream()
+                .filter(Item::getAvailable)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.backend", havingValue = "index")
+public class InvertedIndexItemSearchBackend implements ItemSearchBackend {
+    private final ItemRepository repository;
+    private final ItemSearchIndex index = new ItemSearchIndex();
+
+    public InvertedIndexItemSearchBackend(ItemRepository repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndex() {
+        try (Stream<ItemSearchDocument> documents = repository.streamSearchDocuments()) {
+            documents.forEach(index::put);
+        }
+        log.info("Item search index built for {} items", index.size());
+    }
+
+    @Override
+    public List<Item> search(String text) {
+        long[] ids = index.search(text);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        return repository.findWithDetailsByIdIn(Arrays.stream(ids).boxed().toList())
+                .stream()
+                .sorted(Comparator.comparingLong(Item::getId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void onItemSaved(Item item) {
+        ItemSearchDocument document = new ItemSearchDocument(item.getId(), item.getName(), item.getDescription(),
+                item.getAvailable());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index.put(document);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.put(document);
+            }
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.Item;
+
+import java.util.List;
+
+public interface ItemSearchBackend {
+    List<Item> search(String text);
+
+    default void onItemSaved(Item item) {
+    }
+}
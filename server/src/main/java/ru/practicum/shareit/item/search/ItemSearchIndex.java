@@ -0,0 +1,175 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ItemSearchIndex {
+    private static final String TOKEN_SEPARATOR = "[^\\p{L}\\p{N}]+";
+
+    private final Map<String, LongPostings> postingsByToken = new HashMap<>();
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(ItemSearchDocument document) {
+        IndexedItem indexed = new IndexedItem(normalize(document.name()), normalize(document.description()),
+                Boolean.TRUE.equals(document.available()));
+        lock.writeLock().lock();
+        try {
+            IndexedItem previous = items.put(document.id(), indexed);
+            if (previous != null) {
+                for (String token : previous.tokens()) {
+                    LongPostings postings = postingsByToken.get(token);
+                    if (postings != null && postings.remove(document.id()) && postings.isEmpty()) {
+                        postingsByToken.remove(token);
+                    }
+                }
+            }
+            for (String token : indexed.tokens()) {
+                postingsByToken.computeIfAbsent(token, key -> new LongPostings()).add(document.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] search(String text) {
+        String query = normalize(text);
+        if (query.isBlank()) {
+            return new long[0];
+        }
+        String fragment = longestFragment(query);
+        lock.readLock().lock();
+        try {
+            if (fragment.isEmpty()) {
+                return matching(query, items.keySet().stream().mapToLong(Long::longValue).sorted().toArray());
+            }
+            List<long[]> candidates = new ArrayList<>();
+            for (Map.Entry<String, LongPostings> entry : postingsByToken.entrySet()) {
+                if (entry.getKey().contains(fragment)) {
+                    candidates.add(entry.getValue().toArray());
+                }
+            }
+            return matching(query, union(candidates));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] matching(String query, long[] candidates) {
+        long[] result = new long[candidates.length];
+        int size = 0;
+        for (long id : candidates) {
+            IndexedItem item = items.get(id);
+            if (item != null && item.available() && item.contains(query)) {
+                result[size++] = id;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static long[] union(List<long[]> postings) {
+        if (postings.isEmpty()) {
+            return new long[0];
+        }
+        if (postings.size() == 1) {
+            return postings.getFirst();
+        }
+        long[] merged = postings.stream()
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .toArray();
+        int size = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (i == 0 || merged[i] != merged[i - 1]) {
+                merged[size++] = merged[i];
+            }
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    private static String longestFragment(String query) {
+        String longest = "";
+        for (String fragment : query.split(TOKEN_SEPARATOR)) {
+            if (fragment.length() > longest.length()) {
+                longest = fragment;
+            }
+        }
+        return longest;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record IndexedItem(String name, String description, boolean available) {
+        boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        Set<String> tokens() {
+            Set<String> tokens = new HashSet<>();
+            for (String text : List.of(name, description)) {
+                for (String token : text.split(TOKEN_SEPARATOR)) {
+                    if (!token.isEmpty()) {
+                        tokens.add(token);
+                    }
+                }
+            }
+            return tokens;
+        }
+    }
+
+    private static final class LongPostings {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.backend", havingValue = "trigram")
+public class TrigramItemSearchBackend implements ItemSearchBackend {
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final ItemRepository repository;
+    private final boolean postgres;
+    private final int limit;
+
+    public TrigramItemSearchBackend(ItemRepository repository, DataSource dataSource,
+                                    @Value("${shareit.search.limit:100}") int limit) {
+        this.repository = repository;
+        this.postgres = isPostgres(dataSource);
+        this.limit = limit;
+        if (!postgres) {
+            log.info("Trigram item search needs PostgreSQL, falling back to LIKE query");
+        }
+    }
+
+    @Override
+    public List<Item> search(String text) {
+        if (!postgres) {
+            return repository.searchByNameOrDescriptionIgnoreCase(text)
+                    .stream()
+                    .filter(Item::getAvailable)
+                    .collect(Collectors.toList());
+        }
+        List<Long> ids = repository.searchAvailableIdsByTrigram(text, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        return repository.findWithDetailsByIdIn(ids)
+                .stream()
+                .sorted(Comparator.comparingInt(item -> rank.get(item.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Could not detect database for trigram item search", e);
+            return false;
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.web.bind.annotation.*;
-import ru.practicum.shareit.item.ItemRepository;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
-import ru.practicum.shareit.user.UserRepository;
 
 import java.util.List;
 
@@ -13,8 +12,8 @@ import java.util.List;
 public class ItemRequestController {
     private final ItemRequestService service;
 
-    public ItemRequestController(final ItemRequestRepository repository, final UserRepository userRepository, final ItemRepository itemRepository) {
-        service = new ItemRequestService(repository, userRepository, itemRepository);
+    public ItemRequestController(final ItemRequestService service) {
+        this.service = service;
     }
 
     @GetMapping
@@ -28,7 +27,10 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{id}")
-    public ItemRequestDto getRequest(@PathVariable("id") Long id) {
+    public ItemRequestDto getRequest(@PathVariable("id") Long id, WebRequest request) {
+        if (request.checkNotModified(String.valueOf(service.getRequestVersion(id)))) {
+            return null;
+        }
         return service.getRequest(id);
     }
 
@@ -1,11 +1,35 @@
 package ru.practicum.shareit.request;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    String VERSION_SPACE = "item_requests.version";
+
     List<ItemRequest> findByRequesterIdOrderByCreatedDesc(Long requesterId);
 
     List<ItemRequest> findByRequesterIdNotOrderByCreatedDesc(Long requesterId);
-}
\ No newline at end of file
+
+    @Query(value = "SELECT version FROM item_requests WHERE id = :requestId", nativeQuery = true)
+    Optional<Long> findVersionById(@Param("requestId") long requestId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = VERSION_SPACE))
+    @Query(value = "UPDATE item_requests SET version = version + 1 WHERE id IN (:requestIds)", nativeQuery = true)
+    int incrementVersions(@Param("requestIds") Collection<Long> requestIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = VERSION_SPACE))
+    @Query(value = "UPDATE item_requests SET version = version + 1 " +
+            "WHERE id IN (SELECT i.request_id FROM items i WHERE i.owner_id = :ownerId)", nativeQuery = true)
+    int incrementVersionsAnsweredBy(@Param("ownerId") long ownerId);
+}
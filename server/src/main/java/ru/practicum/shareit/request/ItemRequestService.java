@@ -1,17 +1,23 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDeletionEvent;
+import ru.practicum.shareit.user.UserExistenceService;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Transactional
 @Service
@@ -19,12 +25,15 @@ public class ItemRequestService {
     private final ItemRequestRepository repository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserExistenceService userExistenceService;
 
     @Autowired
-    public ItemRequestService(ItemRequestRepository repository, UserRepository userRepository, ItemRepository itemRepository) {
+    public ItemRequestService(ItemRequestRepository repository, UserRepository userRepository, ItemRepository itemRepository,
+                              UserExistenceService userExistenceService) {
         this.repository = repository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
+        this.userExistenceService = userExistenceService;
     }
 
     public ItemRequestDto create(ItemRequestCreateDto dto, long userId) {
@@ -40,24 +49,24 @@ public class ItemRequestService {
 
     @Transactional(readOnly = true)
     public List<ItemRequestDto> getRequests(long userId) {
-        if (!isExistsUser(userId)) {
+        if (!userExistenceService.exists(userId)) {
             throw new NotFoundException("User not found");
         }
-        return repository.findByRequesterIdOrderByCreatedDesc(userId)
-                .stream()
-                .map(request -> ItemRequestMapper.mapToItemRequestDto(request, itemRepository.findByRequestId(request.getId())))
-                .toList();
+        return mapToItemRequestDtos(repository.findByRequesterIdOrderByCreatedDesc(userId));
     }
 
     @Transactional(readOnly = true)
     public List<ItemRequestDto> getRequestsFromOtherUsers(long userId) {
-        if (!isExistsUser(userId)) {
+        if (!userExistenceService.exists(userId)) {
             throw new NotFoundException("User not found");
         }
-        return repository.findByRequesterIdNotOrderByCreatedDesc(userId)
-                .stream()
-                .map(request -> ItemRequestMapper.mapToItemRequestDto(request, itemRepository.findByRequestId(request.getId())))
-                .toList();
+        return mapToItemRequestDtos(repository.findByRequesterIdNotOrderByCreatedDesc(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public long getRequestVersion(long requestId) {
+        return repository.findVersionById(requestId)
+                .orElseThrow(() -> new NotFoundException("Request not found"));
     }
 
     @Transactional(readOnly = true)
@@ -68,8 +77,22 @@ public class ItemRequestService {
         );
     }
 
-    private boolean isExistsUser(long id) {
-        return userRepository.findAll().stream()
-                .anyMatch(userCheck -> userCheck.getId() == id);
+    @EventListener
+    public void onUserDeletion(UserDeletionEvent event) {
+        repository.incrementVersionsAnsweredBy(event.userId());
+    }
+
+    private List<ItemRequestDto> mapToItemRequestDtos(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<Item>> itemsByRequestId = itemRepository.findByRequestIdIn(requests.stream()
+                        .map(ItemRequest::getId)
+                        .toList())
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+        return requests.stream()
+                .map(request -> ItemRequestMapper.mapToItemRequestDto(request, itemsByRequestId.get(request.getId())))
+                .toList();
     }
 }
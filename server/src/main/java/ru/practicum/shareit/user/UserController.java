@@ -3,6 +3,7 @@ package ru.practicum.shareit.user;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
@@ -14,8 +15,8 @@ public class UserController {
     private final UserService userService;
 
     @Autowired
-    public UserController(UserRepository userRepository) {
-        userService = new UserService(userRepository);
+    public UserController(UserService userService) {
+        this.userService = userService;
     }
 
     @PostMapping
@@ -35,7 +36,10 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public UserDto getUserById(@PathVariable final long id) {
+    public UserDto getUserById(@PathVariable final long id, WebRequest request) {
+        if (request.checkNotModified(String.valueOf(userService.getUserVersion(id)))) {
+            return null;
+        }
         return userService.getUserById(id);
     }
 
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+@Transactional(readOnly = true)
+@Service
+public class UserExistenceService {
+    static final int KNOWN_IDS_LIMIT = 10_000;
+
+    private final UserRepository repository;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final Map<Long, Long> knownIds = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > KNOWN_IDS_LIMIT;
+        }
+    };
+    private final Lock knownIdsLock = new ReentrantLock();
+
+    @Autowired
+    public UserExistenceService(UserRepository repository,
+                                @Value("${shareit.user-existence.ttl:5s}") Duration ttl) {
+        this(repository, ttl, System::nanoTime);
+    }
+
+    UserExistenceService(UserRepository repository, Duration ttl, LongSupplier ticker) {
+        this.repository = repository;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+    }
+
+    public boolean exists(long userId) {
+        knownIdsLock.lock();
+        try {
+            Long expiresAt = knownIds.get(userId);
+            if (expiresAt != null) {
+                if (expiresAt - ticker.getAsLong() > 0) {
+                    return true;
+                }
+                knownIds.remove(userId);
+            }
+        } finally {
+            knownIdsLock.unlock();
+        }
+        if (!repository.existsById(userId)) {
+            return false;
+        }
+        knownIdsLock.lock();
+        try {
+            knownIds.put(userId, ticker.getAsLong() + ttlNanos);
+        } finally {
+            knownIdsLock.unlock();
+        }
+        return true;
+    }
+
+    public void forget(long userId) {
+        evict(userId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(userId);
+            }
+        });
+    }
+
+    private void evict(long userId) {
+        knownIdsLock.lock();
+        try {
+            knownIds.remove(userId);
+        } finally {
+            knownIdsLock.unlock();
+        }
+    }
+}
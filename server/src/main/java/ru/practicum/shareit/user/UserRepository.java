@@ -1,7 +1,29 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    String VERSION_SPACE = "users.version";
+
+    boolean existsByEmail(String email);
+
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamAllEmails();
+
+    @Query(value = "SELECT version FROM users WHERE id = :userId", nativeQuery = true)
+    Optional<Long> findVersionById(@Param("userId") long userId);
 
-}
\ No newline at end of file
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = VERSION_SPACE))
+    @Query(value = "UPDATE users SET version = version + 1 WHERE id = :userId", nativeQuery = true)
+    int incrementVersion(@Param("userId") long userId);
+}
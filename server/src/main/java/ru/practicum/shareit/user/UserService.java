@@ -1,6 +1,10 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.FieldContainsException;
@@ -10,17 +14,42 @@ import ru.practicum.shareit.user.dto.UserUpdateDto;
 
 import java.util.Collection;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Transactional
 @Service
 public class UserService {
+    private static final int EMAIL_FILTER_LOG2_BITS = 23;
+    private static final int EMAIL_FILTER_HASHES = 5;
+
     private final UserRepository repository;
+    private final UserExistenceService userExistenceService;
+    private final OwnedEntityCacheEvictor ownedEntityCacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmailBloomFilter knownEmails = new EmailBloomFilter(EMAIL_FILTER_LOG2_BITS, EMAIL_FILTER_HASHES);
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserExistenceService userExistenceService,
+                       OwnedEntityCacheEvictor ownedEntityCacheEvictor, ApplicationEventPublisher eventPublisher) {
         this.repository = userRepository;
+        this.userExistenceService = userExistenceService;
+        this.ownedEntityCacheEvictor = ownedEntityCacheEvictor;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadKnownEmails() {
+        try (Stream<String> emails = repository.streamAllEmails()) {
+            emails.forEach(knownEmails::put);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long getUserVersion(long id) {
+        return repository.findVersionById(id)
+                .orElseThrow(() -> new NoSuchElementException("User not found"));
     }
 
     public UserDto updateUser(long userId, UserUpdateDto userUpdateDto) {
@@ -37,18 +66,18 @@ public class UserService {
         }
 
         if (userUpdateDto.getEmail() != null && !userUpdateDto.getEmail().isBlank()) {
-            if (repository.findAll().stream().anyMatch(user -> Objects.equals(user.getEmail(), userUpdateDto.getEmail()))) {
-                throw new FieldContainsException("Email already exists.");
-            }
             final String newEmail = userUpdateDto.getEmail();
             if (!existingUser.getEmail().equals(newEmail)) {
+                checkEmailIsFree(newEmail);
                 existingUser.setEmail(newEmail);
                 needsUpdate = true;
             }
         }
 
         if (needsUpdate) {
-            User updatedUser = repository.save(existingUser);
+            User updatedUser = saveUnique(existingUser);
+            repository.incrementVersion(userId);
+            eventPublisher.publishEvent(new UserUpdatedEvent(userId));
             return UserMapper.mapToUserDto(updatedUser);
         } else {
             return UserMapper.mapToUserDto(existingUser);
@@ -73,21 +102,40 @@ public class UserService {
         if (userDto.getName() == null) {
             userDto.setName(userDto.getEmail());
         }
-        if (repository.findAll().stream().anyMatch(user -> Objects.equals(user.getEmail(), userDto.getEmail()))) {
-            throw new FieldContainsException("Email already exists.");
+        if (userDto.getEmail() != null) {
+            checkEmailIsFree(userDto.getEmail());
         }
-        return UserMapper.mapToUserDto(repository.save(UserMapper.mapToUser(userDto)));
+        return UserMapper.mapToUserDto(saveUnique(UserMapper.mapToUser(userDto)));
     }
 
     public void deleteUser(long id) {
-        if (!isExistsUser(id)) {
+        if (!userExistenceService.exists(id)) {
             throw new NotFoundException("User doesn't exists");
         }
+        eventPublisher.publishEvent(new UserDeletionEvent(id));
         repository.deleteById(id);
+        userExistenceService.forget(id);
+        ownedEntityCacheEvictor.onUserDeleted();
+    }
+
+    private void checkEmailIsFree(String email) {
+        if (knownEmails.mightContain(email) && repository.existsByEmail(email)) {
+            throw new FieldContainsException("Email already exists.");
+        }
     }
 
-    private boolean isExistsUser(long id) {
-        return repository.findAll().stream()
-                .anyMatch(userCheck -> userCheck.getId() == id);
+    private User saveUnique(User user) {
+        User saved;
+        try {
+            saved = repository.save(user);
+            repository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (user.getEmail() == null) {
+                throw e;
+            }
+            throw new FieldContainsException("Email already exists.");
+        }
+        knownEmails.put(saved.getEmail());
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+ALTER TABLE Users ALTER COLUMN id SET DEFAULT NEXT VALUE FOR users_seq;
+ALTER TABLE Item_requests ALTER COLUMN id SET DEFAULT NEXT VALUE FOR item_requests_seq;
+ALTER TABLE Items ALTER COLUMN id SET DEFAULT NEXT VALUE FOR items_seq;
+ALTER TABLE Bookings ALTER COLUMN id SET DEFAULT NEXT VALUE FOR bookings_seq;
+ALTER TABLE Comments ALTER COLUMN id SET DEFAULT NEXT VALUE FOR comments_seq;
@@ -0,0 +1,54 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx ON Items USING GIN (name gin_trgm_ops) WHERE available;
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx ON Items USING GIN (description gin_trgm_ops) WHERE available;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- bookings_no_overlap is added once. Before adding it, legacy WAITING bookings that overlap an APPROVED
+-- booking or an earlier WAITING booking of the same item are REJECTED. If APPROVED bookings still overlap
+-- each other they need a manual decision, so the constraint is skipped with a warning and retried on the
+-- next startup. The body is single-quoted rather than dollar-quoted so the script splitter keeps it whole.
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''bookings_no_overlap'') THEN
+        RETURN;
+    END IF;
+    UPDATE Bookings b SET status = ''REJECTED''
+    WHERE b.status = ''WAITING''
+      AND EXISTS (SELECT 1 FROM Bookings o
+                  WHERE o.item_id = b.item_id
+                    AND o.id <> b.id
+                    AND (o.status = ''APPROVED'' OR (o.status = ''WAITING'' AND o.id < b.id))
+                    AND tsrange(o.start_time, o.end_time) && tsrange(b.start_time, b.end_time));
+    IF EXISTS (SELECT 1 FROM Bookings b JOIN Bookings o
+                   ON o.item_id = b.item_id AND o.id < b.id
+                  AND tsrange(o.start_time, o.end_time) && tsrange(b.start_time, b.end_time)
+               WHERE b.status = ''APPROVED'' AND o.status = ''APPROVED'') THEN
+        RAISE WARNING ''bookings_no_overlap not added: overlapping APPROVED bookings must be resolved first'';
+        RETURN;
+    END IF;
+    ALTER TABLE Bookings ADD CONSTRAINT bookings_no_overlap
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&)
+        WHERE (status IN (''WAITING'', ''APPROVED''));
+END
+';
+
+-- Ids come from the *_seq sequences for Hibernate and plain SQL inserts alike. Tables created before
+-- the sequences existed still carry an identity column, which is dropped here.
+ALTER TABLE Users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE Users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER TABLE Item_requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE Item_requests ALTER COLUMN id SET DEFAULT nextval('item_requests_seq');
+ALTER TABLE Items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE Items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+ALTER TABLE Bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE Bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+ALTER TABLE Comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE Comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM Users), (SELECT last_value FROM users_seq)));
+SELECT setval('item_requests_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM Item_requests), (SELECT last_value FROM item_requests_seq)));
+SELECT setval('items_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM Items), (SELECT last_value FROM items_seq)));
+SELECT setval('bookings_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM Bookings), (SELECT last_value FROM bookings_seq)));
+SELECT setval('comments_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM Comments), (SELECT last_value FROM comments_seq)));
@@ -1,13 +1,19 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS item_requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS Users
 (
-    id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id    BIGINT PRIMARY KEY,
     name  VARCHAR(100) NOT NULL,
     email VARCHAR(255) NOT NULL UNIQUE
 );
 
 CREATE TABLE IF NOT EXISTS Item_requests
 (
-    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id           BIGINT PRIMARY KEY,
     description  VARCHAR(300)                NOT NULL,
     requester_id BIGINT                      NOT NULL,
     created_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -16,7 +22,7 @@ CREATE TABLE IF NOT EXISTS Item_requests
 
 CREATE TABLE IF NOT EXISTS Items
 (
-    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id          BIGINT PRIMARY KEY,
     name        VARCHAR(100) NOT NULL,
     description VARCHAR(300),
     available   BOOLEAN,
@@ -28,7 +34,7 @@ CREATE TABLE IF NOT EXISTS Items
 
 CREATE TABLE IF NOT EXISTS Bookings
 (
-    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id         BIGINT PRIMARY KEY,
     start_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_time   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     item_id    BIGINT                      NOT NULL,
@@ -40,11 +46,27 @@ CREATE TABLE IF NOT EXISTS Bookings
 
 CREATE TABLE IF NOT EXISTS Comments
 (
-    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id        BIGINT PRIMARY KEY,
     text      VARCHAR NOT NULL,
     item_id   BIGINT  NOT NULL,
     author_id BIGINT  NOT NULL,
     created   TIMESTAMP WITHOUT TIME ZONE,
     FOREIGN KEY (item_id) REFERENCES Items (id) ON DELETE CASCADE,
     FOREIGN KEY (author_id) REFERENCES Users (id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+ALTER TABLE Users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE Item_requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE Items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON Bookings (booker_id, start_time, id);
+CREATE INDEX IF NOT EXISTS bookings_booker_end_idx ON Bookings (booker_id, end_time);
+CREATE INDEX IF NOT EXISTS bookings_booker_status_start_idx ON Bookings (booker_id, status, start_time);
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON Bookings (item_id, start_time, id);
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON Bookings (item_id, status, start_time);
+CREATE INDEX IF NOT EXISTS bookings_item_booker_idx ON Bookings (item_id, booker_id);
+CREATE INDEX IF NOT EXISTS items_owner_idx ON Items (owner_id);
+CREATE INDEX IF NOT EXISTS items_request_idx ON Items (request_id);
+CREATE INDEX IF NOT EXISTS comments_item_idx ON Comments (item_id);
+CREATE INDEX IF NOT EXISTS item_requests_requester_created_idx ON Item_requests (requester_id, created_time);
+CREATE INDEX IF NOT EXISTS item_requests_created_idx ON Item_requests (created_time);
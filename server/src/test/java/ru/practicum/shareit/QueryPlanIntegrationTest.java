@@ -0,0 +1,136 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+public class QueryPlanIntegrationTest {
+    private static final int USERS = 50;
+    private static final int ITEMS = 200;
+    private static final int BOOKINGS = 2_000;
+    private static final int COMMENTS = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+    private long itemId;
+    private long requestId;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"Plan user " + i, "plan" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        userId = userIds.getFirst();
+
+        List<Object[]> requests = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            requests.add(new Object[]{"Need " + i, userIds.get(i % userIds.size()), Timestamp.valueOf(now.minusDays(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO item_requests (description, requester_id, created_time) VALUES (?, ?, ?)",
+                requests);
+        List<Long> requestIds = jdbcTemplate.queryForList("SELECT id FROM item_requests ORDER BY id", Long.class);
+        requestId = requestIds.getFirst();
+
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Object[]{"Item " + i, "Description " + i, true, userIds.get(i % userIds.size()),
+                    i % 4 == 0 ? requestIds.get(i % requestIds.size()) : null});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, available, owner_id, request_id) " +
+                "VALUES (?, ?, ?, ?, ?)", items);
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+        itemId = itemIds.getFirst();
+
+        String[] statuses = {"WAITING", "APPROVED", "REJECTED", "CANCELED"};
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.plusHours(i - BOOKINGS / 2);
+            bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(2)),
+                    itemIds.get(i % itemIds.size()), userIds.get(i % userIds.size()), statuses[i % statuses.length]});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_time, end_time, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?)", bookings);
+
+        List<Object[]> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENTS; i++) {
+            comments.add(new Object[]{"Comment " + i, itemIds.get(i % itemIds.size()),
+                    userIds.get(i % userIds.size()), Timestamp.valueOf(now.minusHours(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)",
+                comments);
+    }
+
+    @Test
+    void bookerBookingsShouldUseIndex() {
+        assertIndexed("SELECT * FROM bookings b WHERE b.booker_id = ? " +
+                "ORDER BY b.start_time, b.id LIMIT 10", userId);
+        assertIndexed("SELECT * FROM bookings b WHERE b.booker_id = ? AND b.start_time > ? " +
+                "ORDER BY b.start_time, b.id LIMIT 10", userId, Timestamp.valueOf(LocalDateTime.now()));
+        assertIndexed("SELECT * FROM bookings b WHERE b.booker_id = ? AND b.status = ? " +
+                "ORDER BY b.start_time, b.id LIMIT 10", userId, "WAITING");
+    }
+
+    @Test
+    void ownerBookingsShouldUseIndex() {
+        assertIndexed("SELECT b.* FROM bookings b JOIN items i ON i.id = b.item_id WHERE i.owner_id = ? " +
+                "ORDER BY b.start_time, b.id LIMIT 10", userId);
+        assertIndexed("SELECT b.* FROM bookings b JOIN items i ON i.id = b.item_id " +
+                "WHERE i.owner_id = ? AND b.status = ? ORDER BY b.start_time, b.id LIMIT 10", userId, "REJECTED");
+    }
+
+    @Test
+    void lastAndNextBookingsOfItemsShouldUseIndex() {
+        assertIndexed("SELECT * FROM bookings b WHERE b.item_id IN (?, ?) AND b.status = ? AND b.start_time = " +
+                "(SELECT MAX(l.start_time) FROM bookings l WHERE l.item_id = b.item_id AND l.status = ?)",
+                itemId, itemId + 1, "REJECTED", "REJECTED");
+    }
+
+    @Test
+    void bookingOfItemByBookerShouldUseIndex() {
+        assertIndexed("SELECT * FROM bookings b WHERE b.item_id = ? AND b.booker_id = ?", itemId, userId);
+    }
+
+    @Test
+    void itemLookupsShouldUseIndex() {
+        assertIndexed("SELECT * FROM items i WHERE i.owner_id = ?", userId);
+        assertIndexed("SELECT * FROM items i WHERE i.request_id = ?", requestId);
+    }
+
+    @Test
+    void commentsOfItemsShouldUseIndex() {
+        assertIndexed("SELECT * FROM comments c WHERE c.item_id IN (?, ?)", itemId, itemId + 1);
+    }
+
+    @Test
+    void requestsOfRequesterShouldUseIndex() {
+        assertIndexed("SELECT * FROM item_requests r WHERE r.requester_id = ? ORDER BY r.created_time DESC", userId);
+    }
+
+    private void assertIndexed(String sql, Object... args) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+
+        assertThat(plan.toLowerCase(Locale.ROOT))
+                .as(plan)
+                .doesNotContain("tablescan")
+                .doesNotContain("seq scan");
+    }
+}
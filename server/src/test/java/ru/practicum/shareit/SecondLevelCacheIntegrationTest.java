@@ -0,0 +1,99 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+public class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UserDto owner;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userService.createUser(new UserDto(0L, "Cached owner", "cached.owner@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findById(owner.getId()).ifPresent(userRepository::delete);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void getUserByIdShouldBeServedFromCache() {
+        userService.getUserById(owner.getId());
+        statistics.clear();
+
+        userService.getUserById(owner.getId());
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void updateUserShouldRefreshCachedUser() {
+        userService.getUserById(owner.getId());
+
+        userService.updateUser(owner.getId(), new UserUpdateDto("Renamed owner", null));
+
+        assertThat(userService.getUserById(owner.getId()).getName()).isEqualTo("Renamed owner");
+    }
+
+    @Test
+    void updateItemShouldRefreshCachedItem() {
+        ItemDto item = itemService.createItem(new ItemDto(null, "Drill", "Cordless drill", true, null, null,
+                null, null, null), owner.getId());
+        itemRepository.findById(item.getId());
+
+        itemService.updateItem(item.getId(), owner.getId(), new ItemUpdateDto(null, "Hammer drill", null));
+
+        assertThat(itemRepository.findById(item.getId()))
+                .map(Item::getDescription)
+                .contains("Hammer drill");
+    }
+
+    @Test
+    void deleteUserShouldEvictOwnedItems() {
+        ItemDto item = itemService.createItem(new ItemDto(null, "Saw", "Hand saw", true, null, null,
+                null, null, null), owner.getId());
+        itemRepository.findById(item.getId());
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isTrue();
+
+        userService.deleteUser(owner.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(User.class, owner.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isFalse();
+        assertThat(itemRepository.findById(item.getId())).isEmpty();
+    }
+}
@@ -9,7 +9,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.util.BookingPage;
 import ru.practicum.shareit.booking.util.BookingStatus;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
@@ -155,7 +158,7 @@ public class BookingControllerTest {
 
     @Test
     void getUserBookingsWhenDefaultStateAllShouldReturnListOfBookingDto() throws Exception {
-        when(bookingService.getUserBookings(eq(bookerId), eq("ALL"))).thenReturn(List.of(bookingDto));
+        when(bookingService.getUserBookings(eq(bookerId), eq("ALL"), any(BookingPage.class))).thenReturn(List.of(bookingDto));
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", bookerId)
@@ -167,7 +170,7 @@ public class BookingControllerTest {
 
     @Test
     void getUserBookingsWhenStateIsInvalidShouldReturnBadRequest() throws Exception {
-        when(bookingService.getUserBookings(eq(bookerId), eq("INVALID_STATE")))
+        when(bookingService.getUserBookings(eq(bookerId), eq("INVALID_STATE"), any(BookingPage.class)))
                 .thenThrow(new BadRequestException("Invalid state"));
 
         mockMvc.perform(get("/bookings")
@@ -179,7 +182,7 @@ public class BookingControllerTest {
 
     @Test
     void getOwnerBookingsWhenDefaultStateAllShouldReturnListOfBookingDto() throws Exception {
-        when(bookingService.getOwnerBookings(eq(ownerId), eq("ALL"))).thenReturn(List.of(bookingDto));
+        when(bookingService.getOwnerBookings(eq(ownerId), eq("ALL"), any(BookingPage.class))).thenReturn(List.of(bookingDto));
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", ownerId)
@@ -188,4 +191,38 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(bookingDto.getId().intValue())));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserBookingsWhenCursorGivenShouldPassKeysetPage() throws Exception {
+        LocalDateTime afterStart = LocalDateTime.of(2030, 1, 1, 12, 0);
+        when(bookingService.getUserBookings(eq(bookerId), eq("ALL"),
+                eq(new BookingPage(0, 5, afterStart, 7L)))).thenReturn(List.of(bookingDto));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .param("size", "5")
+                        .param("afterStart", "2030-01-01T12:00:00")
+                        .param("afterId", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void approveOrRejectBookingsShouldReturnPerBookingResults() throws Exception {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(bookingId, true),
+                new BookingDecisionDto(999L, false));
+        when(bookingService.approveOrRejectBookings(eq(decisions), eq(ownerId))).thenReturn(List.of(
+                new BookingDecisionResultDto(bookingId, 200, bookingDto, null),
+                new BookingDecisionResultDto(999L, 404, null, "Booking not found")));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decisions)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].booking.id", is(bookingDto.getId().intValue())))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andExpect(jsonPath("$[1].error", is("Booking not found")));
+    }
+}
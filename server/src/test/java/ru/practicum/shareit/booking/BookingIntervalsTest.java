@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookingIntervalsTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void overlapsShouldTreatIntervalsAsHalfOpen() {
+        BookingIntervals intervals = new BookingIntervals();
+        intervals.add(1L, BASE.plusHours(1), BASE.plusHours(3));
+
+        assertThat(intervals.overlaps(BASE, BASE.plusHours(1))).isFalse();
+        assertThat(intervals.overlaps(BASE.plusHours(3), BASE.plusHours(4))).isFalse();
+        assertThat(intervals.overlaps(BASE.plusHours(2), BASE.plusHours(4))).isTrue();
+        assertThat(intervals.overlaps(BASE, BASE.plusHours(5))).isTrue();
+        assertThat(intervals.overlaps(BASE.plusMinutes(90), BASE.plusMinutes(100))).isTrue();
+    }
+
+    @Test
+    void overlapsShouldSeeLongIntervalBehindShorterLaterOnes() {
+        BookingIntervals intervals = new BookingIntervals();
+        intervals.add(1L, BASE, BASE.plusDays(10));
+        intervals.add(2L, BASE.plusDays(1), BASE.plusDays(2));
+
+        assertThat(intervals.overlaps(BASE.plusDays(5), BASE.plusDays(6))).isTrue();
+
+        intervals.remove(1L, BASE);
+
+        assertThat(intervals.overlaps(BASE.plusDays(5), BASE.plusDays(6))).isFalse();
+        assertThat(intervals.size()).isEqualTo(1);
+    }
+
+    @Test
+    void addShouldIgnoreRepeatedBooking() {
+        BookingIntervals intervals = new BookingIntervals();
+        intervals.add(1L, BASE, BASE.plusHours(1));
+        intervals.add(1L, BASE, BASE.plusHours(1));
+        intervals.add(2L, BASE, BASE.plusHours(2));
+
+        assertThat(intervals.size()).isEqualTo(2);
+    }
+
+    @Test
+    void overlapsOnHotItemShouldMatchBruteForce() {
+        Random random = new Random(42);
+        BookingIntervals intervals = new BookingIntervals();
+        List<long[]> reference = new ArrayList<>();
+        for (long id = 0; id < 100_000; id++) {
+            long start = random.nextInt(5_000_000);
+            long end = start + 1 + random.nextInt(120);
+            intervals.add(id, BASE.plusMinutes(start), BASE.plusMinutes(end));
+            reference.add(new long[]{start, end});
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            long start = random.nextInt(5_000_000);
+            long end = start + 1 + random.nextInt(120);
+            boolean expected = reference.stream().anyMatch(interval -> interval[0] < end && start < interval[1]);
+
+            assertThat(intervals.overlaps(BASE.plusMinutes(start), BASE.plusMinutes(end))).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+public class BookingQueryCountIntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User booker;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User owner = new User(0L, "Owner", "booking.count.owner@example.com");
+        booker = new User(0L, "Booker", "booking.count.booker@example.com");
+        entityManager.persist(owner);
+        entityManager.persist(booker);
+        item = new Item(0L, "Counted item", "Counted description", true, owner, null,
+                new ArrayList<>(), new ArrayList<>());
+        entityManager.persist(item);
+        start = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void createBookingShouldSelectOnceInsertOnceAndBumpItemVersion() {
+        bookingService.createBooking(new BookingCreateDto(item.getId(), start, start.plusHours(1)), booker.getId());
+
+        BookingDto[] created = new BookingDto[1];
+        long statements = countStatements(() -> created[0] = bookingService.createBooking(
+                new BookingCreateDto(item.getId(), start.plusHours(2), start.plusHours(3)), booker.getId()));
+
+        assertThat(statements).isEqualTo(3);
+        assertThat(created[0].getItem().getName()).isEqualTo("Counted item");
+        assertThat(created[0].getBooker().getEmail()).isEqualTo("booking.count.booker@example.com");
+        assertThat(created[0].getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void createBookingWhenSlotTakenShouldConfirmOverlapWithOneQueryRegardlessOfHistory() {
+        bookingService.createBooking(new BookingCreateDto(item.getId(), start, start.plusHours(1)), booker.getId());
+        long small = countStatements(() -> assertThrows(ConflictException.class, () -> bookingService.createBooking(
+                new BookingCreateDto(item.getId(), start, start.plusHours(1)), booker.getId())));
+
+        for (int i = 1; i <= 200; i++) {
+            bookingService.createBooking(new BookingCreateDto(item.getId(), start.plusDays(i),
+                    start.plusDays(i).plusHours(1)), booker.getId());
+        }
+        long large = countStatements(() -> assertThrows(ConflictException.class, () -> bookingService.createBooking(
+                new BookingCreateDto(item.getId(), start, start.plusHours(1)), booker.getId())));
+
+        assertThat(small).isEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void approveBookingShouldIssueSameNumberOfStatementsRegardlessOfCompetitors() {
+        long ownerId = item.getOwner().getId();
+        long alone = addWaitingBookings(1).getFirst().getId();
+        long withoutCompetitors = countStatements(() -> bookingService.approveOrRejectBooking(alone, ownerId, true));
+
+        start = start.plusDays(1);
+        long contested = addWaitingBookings(10).getFirst().getId();
+        long withCompetitors = countStatements(() -> bookingService.approveOrRejectBooking(contested, ownerId, true));
+
+        assertThat(withoutCompetitors).isEqualTo(4);
+        assertThat(withCompetitors).isEqualTo(5);
+    }
+
+    @Test
+    void bulkInsertShouldBeBatched() {
+        addWaitingBookings(1);
+
+        long statements = countStatements(() -> {
+            for (int i = 0; i < 30; i++) {
+                entityManager.persist(new Booking(0L, start.plusDays(i), start.plusDays(i).plusHours(1), item, booker,
+                        BookingStatus.WAITING));
+            }
+            entityManager.flush();
+        });
+
+        assertThat(statements).isLessThanOrEqualTo(2);
+    }
+
+    private List<Booking> addWaitingBookings(int count) {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Booking booking = new Booking(0L, start, start.plusHours(1), item, booker, BookingStatus.WAITING);
+            entityManager.persist(booking);
+            bookings.add(booking);
+        }
+        entityManager.flush();
+        return bookings;
+    }
+
+    private long countStatements(Runnable call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
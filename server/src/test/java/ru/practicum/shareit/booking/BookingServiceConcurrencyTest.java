@@ -0,0 +1,147 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class BookingServiceConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 20;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserService userService;
+
+    private User owner;
+    private List<User> bookers;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(0L, "Stress owner", "stress.owner@example.com"));
+        bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(new User(0L, "Stress booker " + i, "stress" + i + "@example.com")));
+        }
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookers.forEach(booker -> userService.deleteUser(booker.getId()));
+        userService.deleteUser(owner.getId());
+    }
+
+    @Test
+    void createBookingWhenThreadsRaceForSameItemShouldNeverOverlap() throws Exception {
+        Item item = newItem("Hot item");
+        AtomicInteger conflicts = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                LocalDateTime from = start.plusHours((thread + attempt) % 10);
+                try {
+                    bookingService.createBooking(new BookingCreateDto(item.getId(), from, from.plusHours(2)),
+                            bookers.get(thread).getId());
+                } catch (ConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+            }
+        });
+
+        List<Booking> bookings = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId() == item.getId())
+                .sorted(Comparator.comparing(Booking::getStart))
+                .toList();
+        for (int i = 1; i < bookings.size(); i++) {
+            assertThat(bookings.get(i).getStart()).isAfterOrEqualTo(bookings.get(i - 1).getEnd());
+        }
+        assertThat(bookings.size() + conflicts.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD);
+    }
+
+    @Test
+    void createBookingForDifferentItemsShouldAllSucceed() throws Exception {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            items.add(newItem("Item " + i));
+        }
+
+        runConcurrently(thread -> {
+            for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                LocalDateTime from = start.plusHours(attempt * 2L);
+                bookingService.createBooking(new BookingCreateDto(items.get(thread).getId(), from, from.plusHours(1)),
+                        bookers.get(thread).getId());
+            }
+        });
+
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
+        assertThat(bookingRepository.findAll().stream()
+                .filter(booking -> itemIds.contains(booking.getItem().getId()))
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), Collectors.counting())))
+                .hasSize(THREADS)
+                .allSatisfy((itemId, count) -> assertThat(count).isEqualTo(ATTEMPTS_PER_THREAD));
+    }
+
+    private Item newItem(String name) {
+        return itemRepository.save(new Item(0L, name, "Stress test item", true, owner, null,
+                new ArrayList<>(), new ArrayList<>()));
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int thread = i;
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    ready.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            ready.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
@@ -5,20 +5,29 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.util.BookingPage;
 import ru.practicum.shareit.booking.util.BookingStatus;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
 
 import jakarta.persistence.EntityManager;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,7 +35,9 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 @Transactional
+@RecordApplicationEvents
 public class BookingServiceIntegrationTest {
+    private static final BookingPage FIRST_PAGE = new BookingPage(0, 10, null, null);
 
     @Autowired
     private BookingService bookingService;
@@ -37,7 +48,11 @@ public class BookingServiceIntegrationTest {
     @Autowired
     private UserRepository userRepository;
     @Autowired
+    private UserService userService;
+    @Autowired
     private EntityManager entityManager;
+    @Autowired
+    private ApplicationEvents events;
 
     private User owner, booker, otherUser;
     private Item item1, item2NotAvailable;
@@ -112,6 +127,48 @@ public class BookingServiceIntegrationTest {
         assertThrows(BadRequestException.class, () -> bookingService.createBooking(createDto, booker.getId()));
     }
 
+    @Test
+    void createBookingWhenIntervalOverlapsShouldThrowConflict() {
+        bookingRepository.save(new Booking(0L, now.plusHours(1), now.plusHours(3), item1, otherUser, BookingStatus.REJECTED));
+        entityManager.flush();
+        bookingService.createBooking(new BookingCreateDto(item1.getId(), now.plusHours(1), now.plusHours(3)), booker.getId());
+
+        assertThrows(ConflictException.class, () -> bookingService.createBooking(
+                new BookingCreateDto(item1.getId(), now.plusHours(2), now.plusHours(4)), otherUser.getId()));
+        assertThrows(ConflictException.class, () -> bookingService.createBooking(
+                new BookingCreateDto(item1.getId(), now, now.plusHours(5)), otherUser.getId()));
+
+        BookingDto adjacent = bookingService.createBooking(
+                new BookingCreateDto(item1.getId(), now.plusHours(3), now.plusHours(4)), otherUser.getId());
+        assertThat(adjacent.getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void createBookingAfterBookerDeletedShouldAcceptSameSlot() {
+        BookingCreateDto slot = new BookingCreateDto(item1.getId(), now.plusHours(1), now.plusHours(3));
+        bookingService.createBooking(slot, booker.getId());
+
+        userService.deleteUser(booker.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        BookingDto rebooked = bookingService.createBooking(slot, otherUser.getId());
+        assertThat(rebooked.getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void createBookingWhenIndexedBookingRemovedElsewhereShouldAcceptSameSlot() {
+        BookingCreateDto slot = new BookingCreateDto(item1.getId(), now.plusHours(1), now.plusHours(3));
+        BookingDto created = bookingService.createBooking(slot, booker.getId());
+
+        bookingRepository.deleteById(created.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        BookingDto rebooked = bookingService.createBooking(slot, otherUser.getId());
+        assertThat(rebooked.getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
     @Test
     void approveOrRejectBookingWhenApproveShouldSetStatusToApproved() {
         Booking booking = bookingRepository.save(new Booking(0L, now.plusHours(1), now.plusHours(2), item1, booker, BookingStatus.WAITING));
@@ -138,6 +195,129 @@ public class BookingServiceIntegrationTest {
         assertThat(persisted.getStatus()).isEqualTo(BookingStatus.REJECTED);
     }
 
+    @Test
+    void approveOrRejectBookingWhenRepeatedShouldBeIdempotent() {
+        Booking booking = bookingRepository.save(new Booking(0L, now.plusHours(1), now.plusHours(2), item1, booker, BookingStatus.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+
+        bookingService.approveOrRejectBooking(booking.getId(), owner.getId(), true);
+        BookingDto repeated = bookingService.approveOrRejectBooking(booking.getId(), owner.getId(), true);
+
+        assertThat(repeated.getStatus()).isEqualTo(BookingStatus.APPROVED);
+    }
+
+    @Test
+    void approveOrRejectBookingWhenAlreadyDecidedOtherwiseShouldThrowConflict() {
+        Booking booking = bookingRepository.save(new Booking(0L, now.plusHours(1), now.plusHours(2), item1, booker, BookingStatus.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+
+        bookingService.approveOrRejectBooking(booking.getId(), owner.getId(), false);
+
+        assertThrows(ConflictException.class, () -> bookingService.approveOrRejectBooking(booking.getId(), owner.getId(), true));
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.REJECTED);
+    }
+
+    @Test
+    void approveOrRejectBookingWhenApprovedShouldRejectOverlappingWaitingBookings() {
+        // createBooking refuses overlaps, so competing WAITING rows are inserted directly like legacy data.
+        Booking approved = bookingRepository.save(new Booking(0L, now.plusHours(1), now.plusHours(3), item1, booker, BookingStatus.WAITING));
+        Booking overlapping = bookingRepository.save(new Booking(0L, now.plusHours(2), now.plusHours(4), item1, otherUser, BookingStatus.WAITING));
+        Booking adjacent = bookingRepository.save(new Booking(0L, now.plusHours(3), now.plusHours(4), item1, otherUser, BookingStatus.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+
+        bookingService.approveOrRejectBooking(approved.getId(), owner.getId(), true);
+
+        assertThat(bookingRepository.findById(overlapping.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(bookingRepository.findById(adjacent.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.WAITING);
+        assertThat(events.stream(BookingsRejectedEvent.class))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.itemId()).isEqualTo(item1.getId());
+                    assertThat(event.approvedBookingId()).isEqualTo(approved.getId());
+                    assertThat(event.rejectedBookingIds()).containsExactly(overlapping.getId());
+                });
+    }
+
+    @Test
+    void approveOrRejectBookingsShouldApplyValidDecisionsAndReportFailures() {
+        Booking first = bookingRepository.save(new Booking(0L, now.plusHours(1), now.plusHours(2), item1, booker, BookingStatus.WAITING));
+        Booking second = bookingRepository.save(new Booking(0L, now.plusHours(3), now.plusHours(4), item1, booker, BookingStatus.WAITING));
+        Booking overlapping = bookingRepository.save(new Booking(0L, now.plusHours(3), now.plusHours(5), item1, otherUser, BookingStatus.WAITING));
+        Booking decided = bookingRepository.save(new Booking(0L, now.plusHours(6), now.plusHours(7), item1, booker, BookingStatus.REJECTED));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingDecisionResultDto> results = bookingService.approveOrRejectBookings(List.of(
+                new BookingDecisionDto(first.getId(), false),
+                new BookingDecisionDto(second.getId(), true),
+                new BookingDecisionDto(overlapping.getId(), true),
+                new BookingDecisionDto(decided.getId(), true),
+                new BookingDecisionDto(999L, true),
+                new BookingDecisionDto(first.getId(), true)), owner.getId());
+
+        assertThat(results).extracting(BookingDecisionResultDto::getStatus)
+                .containsExactly(200, 200, 409, 409, 404, 400);
+        assertThat(results.getFirst().getBooking().getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(results.get(1).getBooking().getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(first.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(bookingRepository.findById(second.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(overlapping.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(events.stream(BookingsRejectedEvent.class))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.approvedBookingId()).isEqualTo(second.getId());
+                    assertThat(event.rejectedBookingIds()).containsExactly(overlapping.getId());
+                });
+    }
+
+    @Test
+    void approveOrRejectBookingsWhenEntryIncompleteShouldReportBadRequestForThatEntry() {
+        Booking booking = bookingRepository.save(new Booking(0L, now.plusHours(1), now.plusHours(2), item1, booker, BookingStatus.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingDecisionDto> decisions = new ArrayList<>();
+        decisions.add(new BookingDecisionDto(null, true));
+        decisions.add(new BookingDecisionDto(booking.getId(), null));
+        decisions.add(null);
+        decisions.add(new BookingDecisionDto(booking.getId(), true));
+        List<BookingDecisionResultDto> results = bookingService.approveOrRejectBookings(decisions, owner.getId());
+
+        assertThat(results).extracting(BookingDecisionResultDto::getStatus)
+                .containsExactly(400, 400, 400, 200);
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.APPROVED);
+    }
+
+    @Test
+    void approveOrRejectBookingsWhenBatchEmptyOrTooLargeShouldThrowBadRequest() {
+        List<BookingDecisionDto> oversized = new ArrayList<>();
+        for (long i = 1; i <= BookingService.MAX_BATCH_SIZE + 1; i++) {
+            oversized.add(new BookingDecisionDto(i, true));
+        }
+
+        assertThrows(BadRequestException.class, () -> bookingService.approveOrRejectBookings(List.of(), owner.getId()));
+        assertThrows(BadRequestException.class, () -> bookingService.approveOrRejectBookings(oversized, owner.getId()));
+    }
+
+    @Test
+    void approveOrRejectBookingsWhenUserNotOwnerShouldReportBadRequest() {
+        Booking booking = bookingRepository.save(new Booking(0L, now.plusHours(1), now.plusHours(2), item1, booker, BookingStatus.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingDecisionResultDto> results = bookingService.approveOrRejectBookings(
+                List.of(new BookingDecisionDto(booking.getId(), true)), otherUser.getId());
+
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.getStatus()).isEqualTo(400);
+            assertThat(result.getBooking()).isNull();
+        });
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
     @Test
     void approveOrRejectBookingWhenBookingNotFoundShouldThrowNotFound() {
         assertThrows(NotFoundException.class, () -> bookingService.approveOrRejectBooking(999L, owner.getId(), true));
@@ -181,42 +361,41 @@ public class BookingServiceIntegrationTest {
 
     @Test
     void getUserBookingsByStateShouldFilterAndSortCorrectly() {
-        bookingRepository.save(new Booking(0L, now.plusHours(1), now.plusHours(2), item1, booker, BookingStatus.WAITING));
-        bookingRepository.save(new Booking(0L, now.minusHours(2), now.minusHours(1), item1, booker, BookingStatus.CANCELED));
-        bookingRepository.save(new Booking(0L, now.minusHours(3), now.minusHours(0), item1, booker, BookingStatus.APPROVED));
-        bookingRepository.save(new Booking(0L, now.plusHours(3), now.plusHours(4), item1, booker, BookingStatus.REJECTED));
+        Booking waiting = bookingRepository.save(new Booking(0L, now.plusHours(1), now.plusHours(2), item1, booker, BookingStatus.WAITING));
+        Booking past = bookingRepository.save(new Booking(0L, now.minusHours(2), now.minusHours(1), item1, booker, BookingStatus.CANCELED));
+        Booking current = bookingRepository.save(new Booking(0L, now.minusHours(3), now.plusHours(1), item1, booker, BookingStatus.APPROVED));
+        Booking rejected = bookingRepository.save(new Booking(0L, now.plusHours(3), now.plusHours(4), item1, booker, BookingStatus.REJECTED));
         entityManager.flush();
         entityManager.clear();
 
-        List<BookingDto> futureBookings = bookingService.getUserBookings(booker.getId(), "FUTURE");
-        assertThat(futureBookings).hasSize(1);
-        assertThat(futureBookings.getFirst().getStatus()).isEqualTo(BookingStatus.WAITING);
+        List<BookingDto> futureBookings = bookingService.getUserBookings(booker.getId(), "FUTURE", FIRST_PAGE);
+        assertThat(futureBookings).extracting(BookingDto::getId).containsExactly(waiting.getId(), rejected.getId());
 
-        List<BookingDto> pastBookings = bookingService.getUserBookings(booker.getId(), "PAST");
-        assertThat(pastBookings).hasSize(1);
-        assertThat(pastBookings.getFirst().getStatus()).isEqualTo(BookingStatus.CANCELED);
+        List<BookingDto> pastBookings = bookingService.getUserBookings(booker.getId(), "PAST", FIRST_PAGE);
+        assertThat(pastBookings).extracting(BookingDto::getId).containsExactly(past.getId());
 
-        List<BookingDto> currentBookings = bookingService.getUserBookings(booker.getId(), "CURRENT");
-        assertThat(currentBookings).hasSize(1);
-        assertThat(currentBookings.getFirst().getStatus()).isEqualTo(BookingStatus.APPROVED);
+        List<BookingDto> currentBookings = bookingService.getUserBookings(booker.getId(), "CURRENT", FIRST_PAGE);
+        assertThat(currentBookings).extracting(BookingDto::getId).containsExactly(current.getId());
 
-        List<BookingDto> rejectedBookings = bookingService.getUserBookings(booker.getId(), "REJECTED");
-        assertThat(rejectedBookings).hasSize(1);
-        assertThat(rejectedBookings.getFirst().getStatus()).isEqualTo(BookingStatus.REJECTED);
+        List<BookingDto> waitingBookings = bookingService.getUserBookings(booker.getId(), "WAITING", FIRST_PAGE);
+        assertThat(waitingBookings).extracting(BookingDto::getId).containsExactly(waiting.getId());
 
-        List<BookingDto> allBookings = bookingService.getUserBookings(booker.getId(), "ALL");
-        assertThat(allBookings).hasSize(4);
-        assertTrue(allBookings.getFirst().getStart().isBefore(allBookings.get(1).getStart()) || allBookings.get(0).getStart().isEqual(allBookings.get(1).getStart()));
+        List<BookingDto> rejectedBookings = bookingService.getUserBookings(booker.getId(), "REJECTED", FIRST_PAGE);
+        assertThat(rejectedBookings).extracting(BookingDto::getId).containsExactly(rejected.getId());
+
+        List<BookingDto> allBookings = bookingService.getUserBookings(booker.getId(), "ALL", FIRST_PAGE);
+        assertThat(allBookings).extracting(BookingDto::getId)
+                .containsExactly(current.getId(), past.getId(), waiting.getId(), rejected.getId());
     }
 
     @Test
     void getUserBookingsWhenUserNotFoundShouldThrowNotFound() {
-        assertThrows(NotFoundException.class, () -> bookingService.getUserBookings(999L, "ALL"));
+        assertThrows(NotFoundException.class, () -> bookingService.getUserBookings(999L, "ALL", FIRST_PAGE));
     }
 
     @Test
     void getUserBookingsWhenInvalidStateShouldThrowIllegalStateException() {
-        assertThrows(IllegalStateException.class, () -> bookingService.getUserBookings(booker.getId(), "INVALID"));
+        assertThrows(IllegalStateException.class, () -> bookingService.getUserBookings(booker.getId(), "INVALID", FIRST_PAGE));
     }
 
 
@@ -230,22 +409,60 @@ public class BookingServiceIntegrationTest {
 
         bookingRepository.save(new Booking(0L, now.plusHours(1), now.plusHours(2), item1, otherBooker, BookingStatus.WAITING));
         bookingRepository.save(new Booking(0L, now.minusHours(2), now.minusHours(1), item1, otherBooker, BookingStatus.CANCELED));
-        bookingRepository.save(new Booking(0L, now.minusHours(3), now.minusHours(0), item1, otherBooker, BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(0L, now.minusHours(3), now.plusHours(1), item1, otherBooker, BookingStatus.APPROVED));
         bookingRepository.save(new Booking(0L, now.plusHours(3), now.plusHours(4), item1, otherBooker, BookingStatus.REJECTED));
         entityManager.flush();
         entityManager.clear();
 
-        List<BookingDto> futureOwnerBookings = bookingService.getOwnerBookings(owner.getId(), "FUTURE");
-        assertThat(futureOwnerBookings).hasSize(1);
-        assertThat(futureOwnerBookings.getFirst().getStatus()).isEqualTo(BookingStatus.WAITING);
+        List<BookingDto> futureOwnerBookings = bookingService.getOwnerBookings(owner.getId(), "FUTURE", FIRST_PAGE);
+        assertThat(futureOwnerBookings).extracting(BookingDto::getStatus)
+                .containsExactly(BookingStatus.WAITING, BookingStatus.REJECTED);
+
+        List<BookingDto> currentOwnerBookings = bookingService.getOwnerBookings(owner.getId(), "CURRENT", FIRST_PAGE);
+        assertThat(currentOwnerBookings).extracting(BookingDto::getStatus).containsExactly(BookingStatus.APPROVED);
 
 
-        List<BookingDto> allOwnerBookings = bookingService.getOwnerBookings(owner.getId(), "ALL");
+        List<BookingDto> allOwnerBookings = bookingService.getOwnerBookings(owner.getId(), "ALL", FIRST_PAGE);
         assertThat(allOwnerBookings).hasSize(4);
     }
 
     @Test
     void getOwnerBookingsWhenUserNotFoundShouldThrowNotFound() {
-        assertThrows(NotFoundException.class, () -> bookingService.getOwnerBookings(999L, "ALL"));
+        assertThrows(NotFoundException.class, () -> bookingService.getOwnerBookings(999L, "ALL", FIRST_PAGE));
+    }
+
+    @Test
+    void getUserBookingsShouldReturnRequestedOffsetPage() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(bookingRepository.save(new Booking(0L, now.plusDays(i), now.plusDays(i).plusHours(1), item1, booker, BookingStatus.WAITING)).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingDto> page = bookingService.getUserBookings(booker.getId(), "ALL", new BookingPage(1, 2, null, null));
+
+        assertThat(page).extracting(BookingDto::getId).containsExactly(ids.get(1), ids.get(2));
+    }
+
+    @Test
+    void getOwnerBookingsWithCursorShouldContinueAfterLastSeenBooking() {
+        LocalDateTime start = now.plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking first = bookingRepository.save(new Booking(0L, start, start.plusDays(1), item1, booker, BookingStatus.WAITING));
+        Booking sameStart = bookingRepository.save(new Booking(0L, start, start.plusDays(2), item1, booker, BookingStatus.WAITING));
+        Booking later = bookingRepository.save(new Booking(0L, start.plusDays(1), start.plusDays(2), item1, booker, BookingStatus.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingDto> page = bookingService.getOwnerBookings(owner.getId(), "ALL",
+                new BookingPage(0, 10, start, first.getId()));
+
+        assertThat(page).extracting(BookingDto::getId).containsExactly(sameStart.getId(), later.getId());
+    }
+
+    @Test
+    void getUserBookingsWhenCursorIncompleteShouldThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> bookingService.getUserBookings(booker.getId(), "ALL",
+                new BookingPage(0, 10, now, null)));
     }
-}
\ No newline at end of file
+}
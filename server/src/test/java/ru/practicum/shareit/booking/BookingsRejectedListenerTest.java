@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookingsRejectedListenerTest {
+
+    @Test
+    void onBookingsRejectedShouldCountEachRejectedBooking() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BookingsRejectedListener listener = new BookingsRejectedListener(registry);
+
+        listener.onBookingsRejected(new BookingsRejectedEvent(1L, 10L, List.of(11L, 12L)));
+        listener.onBookingsRejected(new BookingsRejectedEvent(2L, 20L, List.of(21L)));
+
+        assertThat(registry.get("bookings.rejected.competitors").counter().count()).isEqualTo(3.0);
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.BookingRepository;
@@ -14,10 +16,13 @@ import ru.practicum.shareit.booking.util.BookingStatus;
 import ru.practicum.shareit.comment.CommentRepository;
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.search.DatabaseItemSearchBackend;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserExistenceService;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -29,9 +34,14 @@ import java.util.Optional;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +49,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import ru.practicum.shareit.user.User;
 
 @WebMvcTest(ItemController.class)
+@Import({ItemService.class, UserExistenceService.class, DatabaseItemSearchBackend.class, ItemDtoCache.class})
 public class ItemControllerTest {
 
     @Autowired
@@ -57,6 +68,8 @@ public class ItemControllerTest {
     private BookingRepository bookingRepositoryMock;
     @MockBean
     private CommentRepository commentRepositoryMock;
+    @MockBean
+    private ItemImportService itemImportServiceMock;
 
 
     private ItemDto itemDto;
@@ -99,7 +112,13 @@ public class ItemControllerTest {
             if (id.equals(itemId)) return Optional.of(itemStub);
             return Optional.empty();
         });
-        lenient().when(userRepositoryMock.findAll()).thenReturn(List.of(userStub));
+        lenient().when(itemRepositoryMock.findVersionById(anyLong())).thenReturn(Optional.of(0L));
+        lenient().when(itemRepositoryMock.findWithDetailsById(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            if (id.equals(itemId)) return Optional.of(itemStub);
+            return Optional.empty();
+        });
+        lenient().when(userRepositoryMock.existsById(userId)).thenReturn(true);
         lenient().when(itemRepositoryMock.searchByNameOrDescriptionIgnoreCase(anyString())).thenReturn(Collections.emptyList());
         lenient().when(bookingRepositoryMock.findByItemIdAndBookerId(anyLong(), anyLong())).thenReturn(null);
         lenient().when(commentRepositoryMock.save(any(ru.practicum.shareit.comment.Comment.class))).thenAnswer(invocation -> {
@@ -121,7 +140,11 @@ public class ItemControllerTest {
                         new ru.practicum.shareit.booking.Booking(11L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), itemStub, new User(2L, "Booker User", "booker@example.com"), BookingStatus.WAITING)
                 )
         );
-        when(itemRepositoryMock.findById(itemId)).thenReturn(Optional.of(itemWithDetails));
+        when(itemRepositoryMock.findWithDetailsById(itemId)).thenReturn(Optional.of(itemWithDetails));
+        when(bookingRepositoryMock.findLastBookingsOfItems(anyCollection(), eq(BookingStatus.REJECTED)))
+                .thenReturn(List.of(itemWithDetails.getBookings().getFirst()));
+        when(bookingRepositoryMock.findNextBookingsOfItems(anyCollection(), eq(BookingStatus.WAITING)))
+                .thenReturn(List.of(itemWithDetails.getBookings().getLast()));
 
 
         mockMvc.perform(get("/items/{id}", itemId))
@@ -129,7 +152,21 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.id", is(itemDto.getId().intValue())))
                 .andExpect(jsonPath("$.name", is(itemDto.getName())))
                 .andExpect(jsonPath("$.lastBooking.id", is(10)))
-                .andExpect(jsonPath("$.comments[0].text", is("Comment for item")));
+                .andExpect(jsonPath("$.nextBooking.id", is(11)))
+                .andExpect(jsonPath("$.comments[0].text", is("Comment for item")))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+    }
+
+    @Test
+    void getItemWhenEtagMatchesShouldReturnNotModifiedWithoutLoadingItem() throws Exception {
+        when(itemRepositoryMock.findVersionById(itemId)).thenReturn(Optional.of(7L));
+
+        mockMvc.perform(get("/items/{id}", itemId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7\""));
+
+        verify(itemRepositoryMock, never()).findWithDetailsById(anyLong());
     }
 
     @Test
@@ -199,7 +236,7 @@ public class ItemControllerTest {
 
     @Test
     void getItemWhenItemNotFoundShouldReturnNotFound() throws Exception {
-        when(itemRepositoryMock.findById(99L)).thenReturn(Optional.empty());
+        when(itemRepositoryMock.findWithDetailsById(99L)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/items/{id}", 99L))
                 .andExpect(status().isNotFound());
@@ -271,4 +308,19 @@ public class ItemControllerTest {
                         .content(objectMapper.writeValueAsString(commentCreateDto)))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void importItemsWhenOwnerUnknownShouldReturnNotFoundBeforeStreaming() throws Exception {
+        doThrow(new NotFoundException("User not found with id: " + userId))
+                .when(itemImportServiceMock).checkOwner(userId);
+
+        mockMvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", userId)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":true}\n"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        verify(itemImportServiceMock, never()).importItems(anyLong(), any(), any());
+    }
+}
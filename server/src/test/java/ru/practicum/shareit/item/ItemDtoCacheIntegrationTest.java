@@ -0,0 +1,161 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.item-cache.size=100")
+@Transactional
+public class ItemDtoCacheIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = new User(0L, "Owner", "dto.cache.owner@example.com");
+        booker = new User(0L, "Booker", "dto.cache.booker@example.com");
+        entityManager.persist(owner);
+        entityManager.persist(booker);
+        item = new Item(0L, "Drill", "Cordless drill", true, owner, null, new ArrayList<>(), new ArrayList<>());
+        entityManager.persist(item);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getItemShouldOnlyProbeVersionWhenCached() {
+        itemService.getItem(item.getId());
+        entityManager.clear();
+        statistics.clear();
+
+        itemService.getItem(item.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getItemWhenCachedShouldSkipRebuildStatements() {
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.persist(new Booking(0L, now.minusDays(2), now.minusDays(1), item, booker, BookingStatus.APPROVED));
+        entityManager.persist(new Booking(0L, now.plusDays(1), now.plusDays(2), item, booker, BookingStatus.WAITING));
+        entityManager.persist(new Comment(null, "Sharp", item, booker, now.minusHours(1)));
+        entityManager.flush();
+        statistics.clear();
+        getItem();
+        long rebuild = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        getItem();
+        long cached = statistics.getPrepareStatementCount();
+
+        assertThat(cached).isEqualTo(1);
+        assertThat(rebuild).isGreaterThan(cached);
+    }
+
+    @Test
+    void updateItemShouldInvalidateCachedItem() {
+        getItem();
+
+        itemService.updateItem(item.getId(), owner.getId(), new ItemUpdateDto("Hammer drill", null, null));
+
+        assertThat(getItem().getName()).isEqualTo("Hammer drill");
+    }
+
+    @Test
+    void bookingChangesShouldInvalidateCachedItem() {
+        getItem();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        BookingDto booking = bookingService.createBooking(
+                new BookingCreateDto(item.getId(), start, start.plusHours(1)), booker.getId());
+
+        assertThat(getItem().getNextBooking().getId()).isEqualTo(booking.getId());
+
+        bookingService.approveOrRejectBooking(booking.getId(), owner.getId(), true);
+
+        assertThat(getItem().getNextBooking()).isNull();
+    }
+
+    @Test
+    void commentAndAuthorRenameShouldInvalidateCachedItem() {
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.persist(new Booking(0L, now.minusDays(2), now.minusDays(1), item, booker, BookingStatus.APPROVED));
+        entityManager.flush();
+        getItem();
+
+        itemService.createComment(item.getId(), new CommentCreateDto("Great drill"), booker.getId());
+        ItemDto withComment = getItem();
+
+        assertThat(withComment.getComments()).hasSize(1);
+
+        userService.updateUser(booker.getId(), new UserUpdateDto("Renamed booker", null));
+        ItemDto renamed = getItem();
+
+        assertThat(renamed).isNotSameAs(withComment);
+        assertThat(renamed.getComments().getFirst().getAuthorName()).isEqualTo("Renamed booker");
+    }
+
+    @Test
+    void deletingCommenterAndBookerShouldInvalidateCachedItem() {
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.persist(new Booking(0L, now.minusDays(2), now.minusDays(1), item, booker, BookingStatus.APPROVED));
+        entityManager.flush();
+        itemService.createComment(item.getId(), new CommentCreateDto("Great drill"), booker.getId());
+        ItemDto cached = getItem();
+
+        assertThat(cached.getComments()).hasSize(1);
+        assertThat(cached.getLastBooking()).isNotNull();
+
+        userService.deleteUser(booker.getId());
+        ItemDto afterDeletion = getItem();
+
+        assertThat(afterDeletion).isNotSameAs(cached);
+        assertThat(afterDeletion.getComments()).isEmpty();
+        assertThat(afterDeletion.getLastBooking()).isNull();
+    }
+
+    private ItemDto getItem() {
+        entityManager.flush();
+        entityManager.clear();
+        return itemService.getItem(item.getId());
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ItemDtoCacheTest {
+
+    @Test
+    void getShouldMissWhenVersionDiffers() {
+        ItemDtoCache cache = new ItemDtoCache(10);
+        ItemDto itemDto = new ItemDto();
+        cache.put(1L, 3L, itemDto);
+
+        assertThat(cache.get(1L, 3L)).isSameAs(itemDto);
+        assertThat(cache.get(1L, 4L)).isNull();
+        assertThat(cache.get(2L, 3L)).isNull();
+    }
+
+    @Test
+    void putShouldNotReplaceNewerVersion() {
+        ItemDtoCache cache = new ItemDtoCache(10);
+        ItemDto newer = new ItemDto();
+        cache.put(1L, 5L, newer);
+        cache.put(1L, 4L, new ItemDto());
+
+        assertThat(cache.get(1L, 5L)).isSameAs(newer);
+    }
+
+    @Test
+    void putShouldEvictLeastRecentlyUsedItem() {
+        ItemDtoCache cache = new ItemDtoCache(2);
+        cache.put(1L, 0L, new ItemDto());
+        cache.put(2L, 0L, new ItemDto());
+        cache.get(1L, 0L);
+        cache.put(3L, 0L, new ItemDto());
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(1L, 0L)).isNotNull();
+        assertThat(cache.get(2L, 0L)).isNull();
+    }
+
+    @Test
+    void zeroSizedCacheShouldKeepNothing() {
+        ItemDtoCache cache = new ItemDtoCache(0);
+        cache.put(1L, 0L, new ItemDto());
+
+        assertThat(cache.get(1L, 0L)).isNull();
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class ItemEtagIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User commenter;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User(0L, "Owner", "etag.owner@example.com");
+        commenter = new User(0L, "Commenter", "etag.commenter@example.com");
+        entityManager.persist(owner);
+        entityManager.persist(commenter);
+        item = new Item(0L, "Saw", "Hand saw", true, owner, null, new ArrayList<>(), new ArrayList<>());
+        entityManager.persist(item);
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.persist(new Booking(0L, now.minusDays(2), now.minusDays(1), item, commenter, BookingStatus.APPROVED));
+        entityManager.persist(new Comment(null, "Sharp", item, commenter, now.minusHours(1)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getItemAfterCommenterDeletedShouldReturnFreshRepresentation() throws Exception {
+        String etag = mockMvc.perform(get("/items/{id}", item.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments", hasSize(1)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/items/{id}", item.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        userService.deleteUser(commenter.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        String freshEtag = mockMvc.perform(get("/items/{id}", item.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments", hasSize(0)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(freshEtag).isNotEqualTo(etag);
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.search.ItemSearchBackend;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+@Transactional
+public class ItemImportServiceIntegrationTest {
+
+    @Autowired
+    private ItemImportService importService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @SpyBean
+    private ItemSearchBackend searchBackend;
+
+    private User owner;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(0L, "Importer", "importer@example.com"));
+        User requester = userRepository.save(new User(0L, "Requester", "import.requester@example.com"));
+        request = itemRequestRepository.save(new ItemRequest(0L, "Need a ladder", requester, LocalDateTime.now(),
+                Collections.emptyList()));
+    }
+
+    @Test
+    void importItemsShouldReportResultPerLine() throws IOException {
+        String input = """
+                {"name":"Ladder","description":"Tall ladder","available":true,"requestId":%d}
+
+                {"name":"","description":"No name","available":true}
+                not json
+                {"name":"Saw","description":"Hand saw","available":false}
+                """.formatted(request.getId());
+
+        List<ItemImportResultDto> results = importItems(owner.getId(), input);
+
+        assertThat(results).extracting(ItemImportResultDto::getLine).containsExactly(1L, 3L, 4L, 5L);
+        assertThat(results).extracting(ItemImportResultDto::getStatus).containsExactly(201, 400, 400, 201);
+        assertThat(results.get(0).getItem().getRequestId()).isEqualTo(request.getId());
+        assertThat(results.get(1).getError()).startsWith("name ");
+        assertThat(results.get(2).getError()).isEqualTo("Malformed JSON");
+        assertThat(itemRepository.findByOwnerId(owner.getId()))
+                .extracting(Item::getName)
+                .containsExactlyInAnyOrder("Ladder", "Saw");
+    }
+
+    @Test
+    void importItemsShouldSpanSeveralChunks() throws IOException {
+        int count = ItemImportService.CHUNK_SIZE * 2 + 7;
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            input.append("{\"name\":\"Item ").append(i).append("\",\"description\":\"Bulk\",\"available\":true}\n");
+        }
+
+        List<ItemImportResultDto> results = importItems(owner.getId(), input.toString());
+
+        assertThat(results).hasSize(count);
+        assertThat(results).allMatch(result -> result.getStatus() == 201);
+        assertThat(results.getLast().getLine()).isEqualTo(count);
+        assertThat(itemRepository.findByOwnerId(owner.getId())).hasSize(count);
+    }
+
+    @Test
+    void importItemsWhenChunkFailsShouldReportItsLinesAndContinue() throws IOException {
+        doThrow(new IllegalStateException("index unavailable"))
+                .when(searchBackend).onItemSaved(argThat(item -> "Broken".equals(item.getName())));
+        int count = ItemImportService.CHUNK_SIZE * 2 + 7;
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String name = i == ItemImportService.CHUNK_SIZE + 3 ? "Broken" : "Item " + i;
+            input.append("{\"name\":\"").append(name).append("\",\"description\":\"Bulk\",\"available\":true}\n");
+        }
+
+        List<ItemImportResultDto> results = importItems(owner.getId(), input.toString());
+
+        assertThat(results).hasSize(count);
+        List<ItemImportResultDto> failed = results.subList(ItemImportService.CHUNK_SIZE,
+                ItemImportService.CHUNK_SIZE * 2);
+        assertThat(failed).allMatch(result -> result.getStatus() == 500 && result.getItem() == null);
+        assertThat(failed.getFirst().getError())
+                .startsWith("Lines %d-%d were not imported".formatted(ItemImportService.CHUNK_SIZE + 1,
+                        ItemImportService.CHUNK_SIZE * 2));
+        assertThat(results.subList(0, ItemImportService.CHUNK_SIZE)).allMatch(result -> result.getStatus() == 201);
+        assertThat(results.subList(ItemImportService.CHUNK_SIZE * 2, count))
+                .allMatch(result -> result.getStatus() == 201);
+    }
+
+    @Test
+    void importItemsWhenOwnerUnknownShouldThrowNotFound() {
+        assertThrows(NotFoundException.class, () -> importItems(owner.getId() + 1000,
+                "{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":true}\n"));
+    }
+
+    private List<ItemImportResultDto> importItems(long userId, String input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        importService.importItems(userId, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        List<ItemImportResultDto> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, ItemImportResultDto.class));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+public class ItemQueryCountIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = new User(0L, "Owner", "count.owner@example.com");
+        booker = new User(0L, "Booker", "count.booker@example.com");
+        User requester = new User(0L, "Requester", "count.requester@example.com");
+        entityManager.persist(owner);
+        entityManager.persist(booker);
+        entityManager.persist(requester);
+
+        request = new ItemRequest(0L, "Need tools", requester, LocalDateTime.now(), Collections.emptyList());
+        entityManager.persist(request);
+
+        addItems(2);
+    }
+
+    @Test
+    void getItemShouldIssueSameNumberOfStatementsRegardlessOfHistorySize() {
+        Item item = addItems(1).getLast();
+        long small = countStatements(() -> itemService.getItem(item.getId()));
+
+        addHistory(item, 20);
+        long large = countStatements(() -> itemService.getItem(item.getId()));
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void getItemsShouldIssueSameNumberOfStatementsRegardlessOfItemCount() {
+        itemService.getItems(owner.getId());
+        long small = countStatements(() -> itemService.getItems(owner.getId()));
+
+        addItems(15);
+        long large = countStatements(() -> itemService.getItems(owner.getId()));
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void searchItemsShouldIssueSameNumberOfStatementsRegardlessOfMatchCount() {
+        long small = countStatements(() -> itemService.getSearchItems("counted"));
+
+        addItems(15);
+        long large = countStatements(() -> itemService.getSearchItems("counted"));
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void getRequestShouldNotLoadItemHistory() {
+        long statements = countStatements(() -> itemRequestService.getRequest(request.getId()));
+
+        assertThat(statements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void getRequestsShouldIssueSameNumberOfStatementsRegardlessOfRequestCount() {
+        User requester = request.getRequester();
+        itemRequestService.getRequests(requester.getId());
+        long small = countStatements(() -> itemRequestService.getRequests(requester.getId()));
+
+        for (int i = 0; i < 10; i++) {
+            request = new ItemRequest(0L, "Need more tools " + i, requester, LocalDateTime.now(), Collections.emptyList());
+            entityManager.persist(request);
+            addItems(2);
+        }
+        long large = countStatements(() -> itemRequestService.getRequests(requester.getId()));
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(3);
+    }
+
+    private long countStatements(Supplier<?> call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Item> addItems(int count) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Item item = new Item(0L, "Counted item " + i, "Counted description", true, owner, request,
+                    new ArrayList<>(), new ArrayList<>());
+            entityManager.persist(item);
+            addHistory(item, 3);
+            items.add(item);
+        }
+        return items;
+    }
+
+    private void addHistory(Item item, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            entityManager.persist(new Comment(null, "Comment " + i, item, booker, now.minusDays(i)));
+            entityManager.persist(new Booking(0L, now.minusDays(i + 2), now.minusDays(i + 1), item, booker, BookingStatus.REJECTED));
+            entityManager.persist(new Booking(0L, now.plusDays(i + 1), now.plusDays(i + 2), item, booker, BookingStatus.WAITING));
+        }
+    }
+}
@@ -118,6 +118,25 @@ public class ItemServiceIntegrationTest {
         assertThat(result.getNextBooking().getItem().getId()).isEqualTo(item1.getId());
     }
 
+    @Test
+    void getItemWhenSeveralCandidateBookingsShouldPickLatestLastAndEarliestNext() {
+        Booking latestRejected = bookingRepository.save(new Booking(0L, LocalDateTime.now().minusHours(5),
+                LocalDateTime.now().minusHours(4), item1, booker, BookingStatus.REJECTED));
+        bookingRepository.save(new Booking(0L, LocalDateTime.now().minusDays(8),
+                LocalDateTime.now().minusDays(7), item1, booker, BookingStatus.REJECTED));
+        bookingRepository.save(new Booking(0L, LocalDateTime.now().plusDays(5),
+                LocalDateTime.now().plusDays(6), item1, booker, BookingStatus.WAITING));
+        Booking earliestWaiting = bookingRepository.save(new Booking(0L, LocalDateTime.now().plusHours(2),
+                LocalDateTime.now().plusHours(3), item1, booker, BookingStatus.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemDto result = itemService.getItem(item1.getId());
+
+        assertThat(result.getLastBooking().getId()).isEqualTo(latestRejected.getId());
+        assertThat(result.getNextBooking().getId()).isEqualTo(earliestWaiting.getId());
+    }
+
     @Test
     void getItemWhenItemHasNoCommentsOrBookingsShouldReturnItemDtoWithoutThem() {
         ItemDto result = itemService.getItem(item2.getId());
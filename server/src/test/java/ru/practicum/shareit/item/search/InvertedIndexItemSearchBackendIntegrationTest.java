@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.search.backend=index")
+@Transactional
+public class InvertedIndexItemSearchBackendIntegrationTest {
+
+    @Autowired
+    private ItemSearchBackend searchBackend;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private Item zeppelin;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = new User(0L, "Owner", "index.owner@example.com");
+        entityManager.persist(owner);
+        zeppelin = new Item(0L, "Zeppelin model", "Scale airship", true, owner, null,
+                new ArrayList<>(), new ArrayList<>());
+        entityManager.persist(zeppelin);
+        addFillers(10);
+    }
+
+    @Test
+    void searchWithoutMatchesShouldNotQueryDatabase() {
+        long statements = countStatements(() -> searchBackend.search("dirigible"));
+
+        assertThat(statements).isZero();
+    }
+
+    @Test
+    void searchShouldLoadOnlyMatchedItemsRegardlessOfItemCount() {
+        long small = countStatements(() -> searchBackend.search("zeppelin"));
+        long smallLoads = statistics.getEntityStatistics(Item.class.getName()).getLoadCount();
+
+        addFillers(500);
+        List<Item> found = new ArrayList<>();
+        long large = countStatements(() -> found.addAll(searchBackend.search("zeppelin")));
+        long largeLoads = statistics.getEntityStatistics(Item.class.getName()).getLoadCount();
+
+        assertThat(found).extracting(Item::getId).containsExactly(zeppelin.getId());
+        assertThat(large).isEqualTo(small).isEqualTo(1);
+        assertThat(largeLoads).isEqualTo(smallLoads).isEqualTo(1);
+    }
+
+    private void addFillers(int count) {
+        for (int i = 0; i < count; i++) {
+            entityManager.persist(new Item(0L, "Filler " + i, "Unrelated tool", true, owner, null,
+                    new ArrayList<>(), new ArrayList<>()));
+        }
+        entityManager.flush();
+        ((InvertedIndexItemSearchBackend) searchBackend).buildIndex();
+    }
+
+    private long countStatements(Supplier<?> call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        index.put(new ItemSearchDocument(1L, "Drill", "Powerful cordless drill", true));
+        index.put(new ItemSearchDocument(2L, "Hammer", "Heavy hammer", false));
+        index.put(new ItemSearchDocument(3L, "Дрель", "Ударная дрель", true));
+        index.put(new ItemSearchDocument(4L, "Saw", "Sharp hand saw", true));
+    }
+
+    @Test
+    void searchShouldMatchSubstringsCaseInsensitively() {
+        assertThat(index.search("DRI")).containsExactly(1L);
+        assertThat(index.search("rill")).containsExactly(1L);
+        assertThat(index.search("less dr")).containsExactly(1L);
+        assertThat(index.search("дрел")).containsExactly(3L);
+    }
+
+    @Test
+    void searchShouldSkipUnavailableItems() {
+        assertThat(index.search("hammer")).isEmpty();
+    }
+
+    @Test
+    void searchWhenNoTokenMatchesShouldReturnEmpty() {
+        assertThat(index.search("ladder")).isEmpty();
+        assertThat(index.search("   ")).isEmpty();
+    }
+
+    @Test
+    void putWhenItemChangesShouldReplacePreviousPostings() {
+        index.put(new ItemSearchDocument(4L, "Ladder", "Folding ladder", true));
+        index.put(new ItemSearchDocument(2L, "Hammer", "Heavy hammer", true));
+
+        assertThat(index.search("saw")).isEmpty();
+        assertThat(index.search("ladder")).containsExactly(4L);
+        assertThat(index.search("hammer")).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void searchWhenQueryHasNoLettersShouldScanDocuments() {
+        index.put(new ItemSearchDocument(5L, "Tape", "Duct tape - 50m", true));
+
+        assertThat(index.search(" - ")).containsExactly(5L);
+    }
+}
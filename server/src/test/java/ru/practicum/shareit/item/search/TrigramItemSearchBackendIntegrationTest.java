@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.search.backend=trigram")
+@Transactional
+public class TrigramItemSearchBackendIntegrationTest {
+
+    @Autowired
+    private ItemSearchBackend searchBackend;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Item drill;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User(0L, "Owner", "trigram.owner@example.com"));
+        drill = itemRepository.save(new Item(0L, "Drill", "Cordless drill", true, owner, null,
+                new ArrayList<>(), new ArrayList<>()));
+        itemRepository.save(new Item(0L, "Old drill", "Broken", false, owner, null,
+                new ArrayList<>(), new ArrayList<>()));
+    }
+
+    @Test
+    void searchOnH2ShouldFallBackToLikeQuery() {
+        assertThat(searchBackend).isInstanceOf(TrigramItemSearchBackend.class);
+        assertThat(searchBackend.search("RILL"))
+                .extracting(Item::getId)
+                .containsExactly(drill.getId());
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.ItemRepository;
@@ -13,6 +15,7 @@ import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceService;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
@@ -22,6 +25,8 @@ import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -29,6 +34,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.hasSize;
 
 @WebMvcTest(ItemRequestController.class)
+@Import({ItemRequestService.class, UserExistenceService.class})
 public class ItemRequestControllerTest {
 
     @Autowired
@@ -96,10 +102,10 @@ public class ItemRequestControllerTest {
 
     @Test
     void getRequestsWhenUserExistsShouldReturnUserRequests() throws Exception {
-        when(userRepository.findAll()).thenReturn(List.of(requester));
+        when(userRepository.existsById(requester.getId())).thenReturn(true);
         when(itemRequestRepository.findByRequesterIdOrderByCreatedDesc(requester.getId()))
                 .thenReturn(List.of(itemRequest));
-        when(itemRepository.findByRequestId(itemRequest.getId())).thenReturn(Collections.emptyList());
+        when(itemRepository.findByRequestIdIn(List.of(itemRequest.getId()))).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/requests")
                         .header("X-Sharer-User-Id", requester.getId()))
@@ -111,7 +117,7 @@ public class ItemRequestControllerTest {
 
     @Test
     void getRequestsWhenUserNotFoundForIsExistsUserShouldReturnNotFound() throws Exception {
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
+        when(userRepository.existsById(99L)).thenReturn(false);
 
         mockMvc.perform(get("/requests")
                         .header("X-Sharer-User-Id", 99L))
@@ -129,6 +135,7 @@ public class ItemRequestControllerTest {
 
         ItemResponseDto itemRespDto = new ItemResponseDto(10L, "Молоток", 5L);
 
+        when(itemRequestRepository.findVersionById(itemRequest.getId())).thenReturn(Optional.of(2L));
         when(itemRequestRepository.findById(itemRequest.getId())).thenReturn(Optional.of(this.itemRequest));
         when(itemRepository.findByRequestId(this.itemRequest.getId())).thenReturn(List.of(itemEntity));
 
@@ -141,7 +148,19 @@ public class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.items", hasSize(1)))
                 .andExpect(jsonPath("$.items[0].id", is(itemRespDto.getId().intValue())))
                 .andExpect(jsonPath("$.items[0].name", is(itemRespDto.getName())))
-                .andExpect(jsonPath("$.items[0].ownerId", is(itemRespDto.getOwnerId().intValue())));
+                .andExpect(jsonPath("$.items[0].ownerId", is(itemRespDto.getOwnerId().intValue())))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+    }
+
+    @Test
+    void getRequestWhenEtagMatchesShouldReturnNotModified() throws Exception {
+        when(itemRequestRepository.findVersionById(itemRequest.getId())).thenReturn(Optional.of(2L));
+
+        mockMvc.perform(get("/requests/{id}", itemRequest.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isNotModified());
+
+        verify(itemRequestRepository, never()).findById(anyLong());
     }
 
     @Test
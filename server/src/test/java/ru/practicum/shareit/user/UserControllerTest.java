@@ -6,6 +6,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -24,6 +27,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
+@Import({UserService.class, UserExistenceService.class})
 public class UserControllerTest {
 
     @Autowired
@@ -34,6 +38,8 @@ public class UserControllerTest {
 
     @MockBean
     private UserRepository userRepositoryMock;
+    @MockBean
+    private OwnedEntityCacheEvictor ownedEntityCacheEvictorMock;
 
     private User userEntity1;
 
@@ -67,7 +73,8 @@ public class UserControllerTest {
     @Test
     void createUserWhenEmailAlreadyExistsShouldReturnConflictStatus() throws Exception {
         UserDto existingUserDto = new UserDto(0L, "Existing Name", "user1@example.com");
-        when(userRepositoryMock.findAll()).thenReturn(List.of(userEntity1));
+        doThrow(new DataIntegrityViolationException("Unique index violation: users(email)"))
+                .when(userRepositoryMock).flush();
 
         mockMvc.perform(post("/users")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -106,6 +113,18 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.email", is(updateDto.getEmail())));
     }
 
+    @Test
+    void getUserByIdWhenEtagMatchesShouldReturnNotModified() throws Exception {
+        when(userRepositoryMock.findVersionById(userEntity1.getId())).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/users/{id}", userEntity1.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+
+        verify(userRepositoryMock, never()).findById(userEntity1.getId());
+    }
+
     @Test
     void updateUserWhenUserIdIsInvalidShouldReturnNotFoundFromController() throws Exception {
         UserUpdateDto updateDto = new UserUpdateDto("Name", "email@example.com");
@@ -129,8 +148,8 @@ public class UserControllerTest {
     @Test
     void updateUserWhenEmailAlreadyExistsForAnotherUserShouldReturnConflictStatus() throws Exception {
         UserUpdateDto updateDto = new UserUpdateDto(null, "existing.other@example.com");
-        User otherUserWithEmail = new User(3L, "Other User", "existing.other@example.com");
-        when(userRepositoryMock.findAll()).thenReturn(List.of(userEntity1, otherUserWithEmail));
+        doThrow(new DataIntegrityViolationException("Unique index violation: users(email)"))
+                .when(userRepositoryMock).flush();
 
         mockMvc.perform(patch("/users/{id}", userEntity1.getId())
                         .contentType(MediaType.APPLICATION_JSON)
@@ -140,7 +159,7 @@ public class UserControllerTest {
 
     @Test
     void deleteUserWhenUserExistsShouldReturnOkStatus() throws Exception {
-        when(userRepositoryMock.findAll()).thenReturn(List.of(userEntity1));
+        when(userRepositoryMock.existsById(userEntity1.getId())).thenReturn(true);
 
         mockMvc.perform(delete("/users/{id}", userEntity1.getId()))
                 .andExpect(status().isOk());
@@ -156,7 +175,7 @@ public class UserControllerTest {
 
     @Test
     void deleteUserWhenUserDoesNotExistShouldReturnNotFoundFromService() throws Exception {
-        when(userRepositoryMock.findAll()).thenReturn(Collections.emptyList());
+        when(userRepositoryMock.existsById(99L)).thenReturn(false);
 
         mockMvc.perform(delete("/users/{id}", 99L))
                 .andExpect(status().isNotFound());
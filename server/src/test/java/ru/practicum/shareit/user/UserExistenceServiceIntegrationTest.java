@@ -0,0 +1,138 @@
+package ru.practicum.shareit.user;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+public class UserExistenceServiceIntegrationTest {
+
+    @Autowired
+    private UserExistenceService userExistenceService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User(0L, "Existing User", "existing@example.com"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void existsWhenUserSavedShouldReturnTrue() {
+        assertTrue(userExistenceService.exists(user.getId()));
+        assertTrue(userExistenceService.exists(user.getId()));
+    }
+
+    @Test
+    void existsShouldProbeDatabaseOnceThenAnswerFromCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertTrue(userExistenceService.exists(user.getId()));
+        long firstProbe = statistics.getPrepareStatementCount();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(userExistenceService.exists(user.getId()));
+        }
+
+        assertThat(firstProbe).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void existsWhenUserMissingShouldReturnFalse() {
+        assertFalse(userExistenceService.exists(999_999L));
+    }
+
+    @Test
+    void existsAfterDeleteUserShouldReturnFalse() {
+        assertTrue(userExistenceService.exists(user.getId()));
+
+        userService.deleteUser(user.getId());
+        entityManager.flush();
+
+        assertFalse(userExistenceService.exists(user.getId()));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void existsAfterDeleteCommitsShouldReturnFalseEvenIfReadConcurrently() {
+        long userId = user.getId();
+
+        boolean seenBeforeCommit = new TransactionTemplate(transactionManager).execute(status -> {
+            userService.deleteUser(userId);
+            entityManager.flush();
+            return CompletableFuture.supplyAsync(() -> userExistenceService.exists(userId)).join();
+        });
+
+        assertTrue(seenBeforeCommit);
+        assertFalse(userExistenceService.exists(userId));
+    }
+
+    @Test
+    void existsAfterDeleteOnAnotherInstanceShouldReturnFalseOnceEntryExpires() {
+        AtomicLong now = new AtomicLong();
+        UserExistenceService otherInstance = new UserExistenceService(userRepository, Duration.ofSeconds(5), now::get);
+        assertTrue(otherInstance.exists(user.getId()));
+
+        userService.deleteUser(user.getId());
+        entityManager.flush();
+
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertTrue(otherInstance.exists(user.getId()));
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertFalse(otherInstance.exists(user.getId()));
+    }
+
+    @Test
+    void existsWhenManyUsersKnownShouldStillAnswerForEachOfThem() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            users.add(new User(0L, "Bulk " + i, "bulk" + i + "@example.com"));
+        }
+        users = userRepository.saveAll(users);
+        entityManager.flush();
+
+        for (User bulkUser : users) {
+            assertTrue(userExistenceService.exists(bulkUser.getId()));
+        }
+        assertFalse(userExistenceService.exists(users.getLast().getId() + 1_000));
+    }
+}